@@ -0,0 +1,129 @@
+package com.code.challenge.benchmark;
+
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates reproducible problem lines and files to feed benchmarks with.
+ */
+public class BenchmarkData {
+    public static final long SEED = 20190101L;
+
+    private static final int MAX_ITEMS = 15;
+    private static final int MAX_WEIGHT_IN_HUNDREDTHS = 100_00;
+    private static final int MAX_COST = 100;
+    private static final int MAX_CAPACITY = 100;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create a random problem line in input file format, items count is in range [1, 15].
+     *
+     * @param random source of randomness.
+     * @return a line such as "81 : (1,53.38,€45) (2,88.62,€98)".
+     */
+    public static String randomLine(Random random) {
+        return randomLine(random, 1 + random.nextInt(MAX_ITEMS));
+    }
+
+    /**
+     * Create a random problem line in input file format with given number of items.
+     *
+     * @param random source of randomness.
+     * @param items  number of items in the line.
+     * @return a line such as "81 : (1,53.38,€45) (2,88.62,€98)".
+     */
+    public static String randomLine(Random random, int items) {
+        StringBuilder line = new StringBuilder();
+        line.append(1 + random.nextInt(MAX_CAPACITY)).append(" :");
+        for (int id = 1; id <= items; id++) {
+            int weight = 1 + random.nextInt(MAX_WEIGHT_IN_HUNDREDTHS);
+            line.append(String.format(Locale.ROOT, " (%d,%d.%02d,€%d)",
+                    id, weight / 100, weight % 100, 1 + random.nextInt(MAX_COST)));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Create given number of random problem lines.
+     *
+     * @param count number of lines.
+     * @param items number of items in each line, or 0 for a random count.
+     * @return generated lines.
+     */
+    public static List<String> randomLines(int count, int items) {
+        Random random = new Random(SEED);
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            lines.add(items == 0 ? randomLine(random) : randomLine(random, items));
+        return lines;
+    }
+
+    /**
+     * Create a random problem with given number of items, beyond the limits of input file format.
+     *
+     * @param random   source of randomness.
+     * @param items    number of items in the problem.
+     * @param capacity package capacity.
+     * @return problem whose items weigh up to 100 and cost up to 100.
+     */
+    public static Problem randomProblem(Random random, int items, int capacity) {
+        return randomProblem(random, items, capacity, 1);
+    }
+
+    /**
+     * Create a random problem whose item weights are multiples of given unit.
+     *
+     * @param random     source of randomness.
+     * @param items      number of items in the problem.
+     * @param capacity   package capacity.
+     * @param weightUnit weight unit in hundredths, 100 for whole number weights.
+     * @return problem whose items weigh up to 100 and cost up to 100.
+     */
+    public static Problem randomProblem(Random random, int items, int capacity, int weightUnit) {
+        List<Triplet> triplets = new ArrayList<>(items);
+        for (int id = 1; id <= items; id++)
+            triplets.add(Triplet.withFixedPointWeight(id,
+                    weightUnit * (1 + random.nextInt(MAX_WEIGHT_IN_HUNDREDTHS / weightUnit)), 1 + random.nextInt(MAX_COST)));
+        return new Problem(capacity, triplets);
+    }
+
+    /**
+     * Write a problem file with given number of random lines.
+     *
+     * @param path  file to write.
+     * @param lines number of lines in the file.
+     * @throws IOException when file can not be written.
+     */
+    public static void writeProblemFile(Path path, int lines) throws IOException {
+        Random random = new Random(SEED);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                if (i > 0)
+                    writer.newLine();
+                writer.write(randomLine(random));
+            }
+        }
+    }
+
+    /**
+     * Copy a problem, solvers sort and extend the triplet list of the problem they are given.
+     *
+     * @param problem problem to copy.
+     * @return a problem with the same capacity and a fresh list of the same triplets.
+     */
+    public static Problem copy(Problem problem) {
+        return new Problem(problem.getMaxCapacity(), new ArrayList<Triplet>(problem.getTriplets()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.code.challenge.packer;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end Packer.pack, and its streaming variant, on generated files, one file per trial;
+ * throughput is files per minute.
+ * The 10M lines file takes about 1 GB in the temp directory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class PackerBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int lines;
+
+    private Path input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = Files.createTempFile("packer-benchmark-" + lines, ".txt");
+        BenchmarkData.writeProblemFile(input, lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    @Benchmark
+    public String pack() {
+        return Packer.pack(input.toString());
+    }
+
+    @Benchmark
+    public void packStreaming(Blackhole blackhole) {
+        Packer.pack(input, new BlackholeWriter(blackhole));
+    }
+
+    /**
+     * Writer consuming solutions without keeping them.
+     */
+    static class BlackholeWriter extends Writer {
+        private final Blackhole blackhole;
+
+        BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(String str) {
+            blackhole.consume(str);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            blackhole.consume(buffer);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
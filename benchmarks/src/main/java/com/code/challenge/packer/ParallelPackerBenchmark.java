@@ -0,0 +1,46 @@
+package com.code.challenge.packer;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming Packer.pack on a pool of solving threads; throughput is files per minute.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class ParallelPackerBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int lines;
+
+    @Param({"1", "4", "8", "32"})
+    public int threads;
+
+    private Path input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = Files.createTempFile("packer-benchmark-" + lines, ".txt");
+        BenchmarkData.writeProblemFile(input, lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    @Benchmark
+    public void packParallel(Blackhole blackhole) {
+        Packer.pack(input, new PackerBenchmark.BlackholeWriter(blackhole), threads);
+    }
+}
@@ -0,0 +1,61 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CumulativePacking with and without bound pruning of cumulative sets. Mean merged and kept states per stage
+ * are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Thread)
+public class BoundPruningBenchmark {
+
+    @Param({"15", "100", "1000"})
+    public int items;
+
+    @Param({"100", "1000"})
+    public int capacity;
+
+    @Param({"false", "true"})
+    public boolean boundPruning;
+
+    private FrontierReport report;
+    private CumulativePacking packing;
+    private Problem problem;
+
+    @Setup
+    public void setUp() {
+        report = new FrontierReport();
+        packing = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE,
+                new PackingLimits(items, CumulativePacking.MAX_TRIPLET_WEIGHT, CumulativePacking.MAX_TRIPLET_COST),
+                boundPruning, report, PackingMetrics.NONE);
+        problem = BenchmarkData.randomProblem(new Random(BenchmarkData.SEED), items, capacity);
+    }
+
+    @TearDown
+    public void tearDown() {
+        double merged = 0;
+        double kept = 0;
+        for (int stage = 1; stage < report.getStages(); stage++) {
+            merged += report.getMeanMergedSize(stage);
+            kept += report.getMeanKeptSize(stage);
+        }
+        System.out.printf("%nstates per solve: %.0f merged, %.0f kept%n", merged, kept);
+    }
+
+    @Benchmark
+    public List<Triplet> solve() {
+        return packing.getOptimalTriplets(BenchmarkData.copy(problem));
+    }
+}
@@ -0,0 +1,49 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving a batch repeating a few distinct lines, with and without CachingPacking in front of CumulativePacking.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CachingPackingBenchmark {
+
+    private static final int PROBLEMS = 1024;
+    private static final int CACHE_SIZE = 1024;
+
+    @Param({"16", "256"})
+    public int distinctLines;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private Packing packing;
+    private List<Problem> problems;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        packing = cached ? new CachingPacking(new CumulativePacking(), CACHE_SIZE) : new CumulativePacking();
+        List<String> lines = BenchmarkData.randomLines(distinctLines, 0);
+        problems = new ArrayList<>(PROBLEMS);
+        for (int i = 0; i < PROBLEMS; i++)
+            problems.add(Parser.getInstance().lineToProblem(lines.get(i % distinctLines)));
+    }
+
+    @Benchmark
+    public String solve() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalItemIdsInString(BenchmarkData.copy(problems.get(cursor)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.CumulativeSet;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward pass (extend and merge) and backward pass (CumulativeSet.exists scans or
+ * predecessor links) of CumulativePacking measured separately.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CumulativePackingBenchmark {
+
+    private static final int PROBLEMS = 256;
+
+    @Param({"5", "10", "15"})
+    public int items;
+
+    @Param({"SCAN", "LINKS"})
+    public Reconstruction reconstruction;
+
+    private CumulativePacking packing;
+    private List<Problem> problems;
+    private List<Problem> solvedProblems;
+    private List<List<CumulativeSet>> solvedSets;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        packing = new CumulativePacking(reconstruction);
+        problems = new ArrayList<>(PROBLEMS);
+        solvedProblems = new ArrayList<>(PROBLEMS);
+        solvedSets = new ArrayList<>(PROBLEMS);
+        for (String line : BenchmarkData.randomLines(PROBLEMS, items)) {
+            Problem problem = Parser.getInstance().lineToProblem(line);
+            problems.add(problem);
+
+            Problem solved = BenchmarkData.copy(problem);
+            solvedSets.add(packing.buildCumulativeSets(solved));
+            solvedProblems.add(solved);
+        }
+    }
+
+    @Benchmark
+    public List<CumulativeSet> forwardPass() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.buildCumulativeSets(BenchmarkData.copy(problems.get(cursor)));
+    }
+
+    @Benchmark
+    public List<Triplet> backwardPass() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.findOptimalTripletsInCumulativeSets(solvedProblems.get(cursor), solvedSets.get(cursor));
+    }
+}
@@ -0,0 +1,67 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.packer.Converter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Parsing a whole generated file through Files.lines against memory mapped chunks, and reading the same problems
+ * converted to the binary format, without solving; throughput is files per minute.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class FileParserBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int lines;
+
+    private Path input;
+    private Path binaryInput;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = Files.createTempFile("parser-benchmark-" + lines, ".txt");
+        BenchmarkData.writeProblemFile(input, lines);
+        binaryInput = Files.createTempFile("parser-benchmark-" + lines, ".bin");
+        Converter.convert(input, binaryInput);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(binaryInput);
+    }
+
+    @Benchmark
+    public void streamLines(Blackhole blackhole) {
+        try (Stream<Problem> problems = Parser.getInstance().stream(input)) {
+            problems.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void streamMapped(Blackhole blackhole) {
+        try (Stream<Problem> problems = Parser.getInstance().streamMapped(input, MappedFileParser.DEFAULT_CHUNK_SIZE)) {
+            problems.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void streamBinary(Blackhole blackhole) {
+        try (Stream<Problem> problems = BinaryProblemReader.stream(binaryInput)) {
+            problems.forEach(blackhole::consume);
+        }
+    }
+}
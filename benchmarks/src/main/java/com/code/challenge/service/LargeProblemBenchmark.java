@@ -0,0 +1,52 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solve time of a single problem with hundreds to thousands of items under raised PackingLimits.
+ * Cumulative sets hold up to min(capacity in hundredths, total cost) states, so memory is characterised
+ * by the allocation per solve gc profiler reports: LINKS and SCAN keep every stage, ITEM_SETS only the last.
+ * BranchAndBoundPacking keeps a few arrays as long as the items, whatever the capacity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Thread)
+public class LargeProblemBenchmark {
+
+    @Param({"100", "1000", "2000"})
+    public int items;
+
+    @Param({"100", "1000"})
+    public int capacity;
+
+    @Param({"LINKS", "ITEM_SETS", "BRANCH_AND_BOUND"})
+    public String engine;
+
+    private AbstractPacking packing;
+    private Problem problem;
+
+    @Setup
+    public void setUp() {
+        PackingLimits limits = new PackingLimits(items, CumulativePacking.MAX_TRIPLET_WEIGHT, CumulativePacking.MAX_TRIPLET_COST);
+        if ("BRANCH_AND_BOUND".equals(engine))
+            packing = new BranchAndBoundPacking(limits);
+        else
+            packing = new CumulativePacking(Reconstruction.valueOf(engine), Integer.MAX_VALUE, limits);
+        problem = BenchmarkData.randomProblem(new Random(BenchmarkData.SEED), items, capacity);
+    }
+
+    @Benchmark
+    public List<Triplet> solve() {
+        return packing.getOptimalTriplets(BenchmarkData.copy(problem));
+    }
+}
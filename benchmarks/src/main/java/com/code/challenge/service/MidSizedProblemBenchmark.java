@@ -0,0 +1,64 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crossover of engines over a few tens of items, capacity holding about half of the items so neither
+ * few nor most of them fit. Meet in the middle time doubles every two items, cumulative sets grow with
+ * capacity and number of items, and branch and bound depends on how well ratios tell items apart.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Thread)
+public class MidSizedProblemBenchmark {
+
+    private static final int PROBLEMS = 16;
+
+    @Param({"CUMULATIVE", "MEET_IN_THE_MIDDLE", "BRANCH_AND_BOUND"})
+    public Engine engine;
+
+    @Param({"10", "15", "20", "25", "30", "35", "40"})
+    public int items;
+
+    /**
+     * Cost follows weight closely, the hard case for ratio bounds as all items have about the same ratio.
+     */
+    @Param({"false", "true"})
+    public boolean correlated;
+
+    private Packing packing;
+    private List<Problem> problems;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        packing = engine.create(new PackingLimits(MeetInTheMiddlePacking.MAX_ITEMS,
+                CumulativePacking.MAX_TRIPLET_WEIGHT, CumulativePacking.MAX_TRIPLET_COST));
+        Random random = new Random(BenchmarkData.SEED);
+        problems = new ArrayList<>(PROBLEMS);
+        for (int i = 0; i < PROBLEMS; i++) {
+            Problem problem = BenchmarkData.randomProblem(random, items, items * 25);
+            if (correlated)
+                problem.getTriplets().replaceAll(triplet -> Triplet.withFixedPointWeight(triplet.getId(),
+                        triplet.getFixedPointWeight(), 10 + triplet.getFixedPointWeight() / 125));
+            problems.add(problem);
+        }
+    }
+
+    @Benchmark
+    public List<Triplet> solve() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalTriplets(BenchmarkData.copy(problems.get(cursor)));
+    }
+}
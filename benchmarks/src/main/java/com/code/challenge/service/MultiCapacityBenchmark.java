@@ -0,0 +1,70 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving one items set at many capacities, a solve per capacity against one Pareto frontier answering all of them,
+ * and exporting the whole frontier.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiCapacityBenchmark {
+
+    @Param({"15", "100"})
+    public int items;
+
+    @Param({"10", "100"})
+    public int capacities;
+
+    private static final int MAX_CAPACITY = 1000;
+
+    private CumulativePacking packing;
+    private Problem problem;
+    private int[] queriedCapacities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        packing = new CumulativePacking(new PackingLimits(items, CumulativePacking.MAX_TRIPLET_WEIGHT, CumulativePacking.MAX_TRIPLET_COST));
+        problem = BenchmarkData.randomProblem(random, items, MAX_CAPACITY);
+        queriedCapacities = random.ints(capacities, 0, MAX_CAPACITY + 1).toArray();
+    }
+
+    @Benchmark
+    public List<List<Triplet>> solvePerCapacity() {
+        List<List<Triplet>> solutions = new ArrayList<>(capacities);
+        for (int capacity : queriedCapacities) {
+            Problem changed = BenchmarkData.copy(problem);
+            solutions.add(packing.getOptimalTriplets(new Problem(capacity, changed.getTriplets())));
+        }
+        return solutions;
+    }
+
+    @Benchmark
+    public List<List<Triplet>> queryOneFrontier() {
+        ParetoFrontier frontier = packing.buildParetoFrontier(problem.getTriplets(), MAX_CAPACITY);
+        List<List<Triplet>> solutions = new ArrayList<>(capacities);
+        for (int capacity : queriedCapacities)
+            solutions.add(frontier.getOptimalTriplets(capacity));
+        return solutions;
+    }
+
+    @Benchmark
+    public int[] exportFrontier() {
+        ParetoFrontier frontier = packing.buildParetoFrontier(problem.getTriplets(), MAX_CAPACITY);
+        frontier.getWeights();
+        return frontier.getCosts();
+    }
+}
@@ -0,0 +1,73 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of joining solved lines into the final output, and of the whole output assembly from solved items:
+ * ids joined per solution then lines joined, against a SolutionWriter streaming to a writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NewLineFormatterBenchmark {
+
+    @Param({"1000", "100000"})
+    public int solutions;
+
+    private ListFormatter formatter;
+    private List<String> list;
+    private List<List<Triplet>> solvedItems;
+
+    @Setup
+    public void setUp() {
+        formatter = new NewLineFormatter();
+        list = new ArrayList<>(solutions);
+        solvedItems = new ArrayList<>(solutions);
+        Random random = new Random(solutions);
+        for (int i = 0; i < solutions; i++) {
+            List<Triplet> items = new ArrayList<>();
+            if (random.nextInt(4) != 0) {
+                items.add(Triplet.withFixedPointWeight(1 + random.nextInt(15), 100, 1));
+                items.add(Triplet.withFixedPointWeight(1 + random.nextInt(15), 100, 1));
+            }
+            solvedItems.add(items);
+            list.add(items.isEmpty() ? "-" : items.get(0).getId() + ", " + items.get(1).getId());
+        }
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.format(list);
+    }
+
+    @Benchmark
+    public String joinIdsAndFormat() {
+        List<String> lines = new ArrayList<>(solutions);
+        for (List<Triplet> items : solvedItems)
+            lines.add(Util.defaultIfEmpty(items.stream()
+                    .map(Triplet::getId)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", ")), "-"));
+        return formatter.format(lines);
+    }
+
+    @Benchmark
+    public void writeSolutions() {
+        SolutionWriter solutionWriter = new SolutionWriter(Writer.nullWriter());
+        for (List<Triplet> items : solvedItems)
+            solutionWriter.write(items);
+        solutionWriter.flush();
+    }
+}
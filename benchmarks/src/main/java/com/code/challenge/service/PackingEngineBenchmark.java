@@ -0,0 +1,54 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving the same random problems with each Packing engine, for whole number weights and weights in hundredths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PackingEngineBenchmark {
+
+    private static final int PROBLEMS = 256;
+    private static final int CAPACITY = 100;
+
+    @Param({"CUMULATIVE", "CAPACITY_INDEXED", "COST_INDEXED", "BRANCH_AND_BOUND", "MEET_IN_THE_MIDDLE", "ADAPTIVE"})
+    public Engine engine;
+
+    @Param({"5", "15"})
+    public int items;
+
+    @Param({"1", "100"})
+    public int weightUnit;
+
+    private Packing packing;
+    private List<Problem> problems;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        packing = engine.create(PackingLimits.DEFAULT);
+        Random random = new Random(BenchmarkData.SEED);
+        problems = new ArrayList<>(PROBLEMS);
+        for (int i = 0; i < PROBLEMS; i++)
+            problems.add(BenchmarkData.randomProblem(random, items, 1 + random.nextInt(CAPACITY), weightUnit));
+    }
+
+    @Benchmark
+    public List<Triplet> solve() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalTriplets(BenchmarkData.copy(problems.get(cursor)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of instrumentation: solving and formatting random problems with no metrics, the PackingMetrics.NONE
+ * default, and with JmxPackingMetrics recording every stage.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PackingMetricsBenchmark {
+
+    private static final int PROBLEMS = 256;
+    private static final int CAPACITY = 100;
+
+    @Param({"NONE", "JMX"})
+    public String metrics;
+
+    @Param({"5", "15"})
+    public int items;
+
+    private CumulativePacking packing;
+    private List<Problem> problems;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        PackingMetrics packingMetrics = "JMX".equals(metrics) ? new JmxPackingMetrics() : PackingMetrics.NONE;
+        packing = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE, PackingLimits.DEFAULT, false,
+                FrontierListener.NONE, packingMetrics);
+        Random random = new Random(BenchmarkData.SEED);
+        problems = new ArrayList<>(PROBLEMS);
+        for (int i = 0; i < PROBLEMS; i++)
+            problems.add(BenchmarkData.randomProblem(random, items, 1 + random.nextInt(CAPACITY), 100));
+    }
+
+    @Benchmark
+    public String solve() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalItemIdsInString(BenchmarkData.copy(problems.get(cursor)));
+    }
+}
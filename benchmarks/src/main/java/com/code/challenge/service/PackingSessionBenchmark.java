@@ -0,0 +1,65 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changing the last item of a problem and solving again, from scratch against an incremental PackingSession.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PackingSessionBenchmark {
+
+    private static final int CANDIDATES = 64;
+
+    @Param({"15", "100"})
+    public int items;
+
+    @Param({"100", "1000"})
+    public int capacity;
+
+    private CumulativePacking packing;
+    private PackingSession session;
+    private Problem problem;
+    private List<Triplet> candidates;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        PackingLimits limits = new PackingLimits(items, CumulativePacking.MAX_TRIPLET_WEIGHT, CumulativePacking.MAX_TRIPLET_COST);
+        Random random = new Random(BenchmarkData.SEED);
+        problem = BenchmarkData.randomProblem(random, items - 1, capacity);
+        candidates = new ArrayList<>(BenchmarkData.randomProblem(random, CANDIDATES, capacity).getTriplets());
+        packing = new CumulativePacking(limits);
+        session = new PackingSession(capacity, limits);
+        problem.getTriplets().forEach(session::append);
+    }
+
+    @Benchmark
+    public List<Triplet> solveFromScratch() {
+        cursor = (cursor + 1) & (CANDIDATES - 1);
+        Problem changed = BenchmarkData.copy(problem);
+        changed.getTriplets().add(candidates.get(cursor));
+        return packing.getOptimalTriplets(changed);
+    }
+
+    @Benchmark
+    public List<Triplet> appendSolveAndRemoveLast() {
+        cursor = (cursor + 1) & (CANDIDATES - 1);
+        session.append(candidates.get(cursor));
+        List<Triplet> solution = session.getOptimalTriplets();
+        session.removeLast();
+        return solution;
+    }
+}
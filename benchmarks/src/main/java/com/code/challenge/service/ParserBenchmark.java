@@ -0,0 +1,38 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting a single input line to a Problem.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+
+    private static final int LINES = 1024;
+
+    private List<String> lines;
+    private Parser parser;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkData.randomLines(LINES, 0);
+        parser = Parser.getInstance();
+    }
+
+    @Benchmark
+    public Problem parseLine() {
+        cursor = (cursor + 1) & (LINES - 1);
+        return parser.lineToProblem(lines.get(cursor));
+    }
+}
@@ -0,0 +1,49 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole CumulativePacking solve in each Reconstruction mode, allocation rate reported by
+ * gc profiler shows memory kept by the cumulative sets of each mode.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReconstructionBenchmark {
+
+    private static final int PROBLEMS = 256;
+
+    @Param({"15"})
+    public int items;
+
+    @Param({"SCAN", "LINKS", "ITEM_SETS"})
+    public Reconstruction reconstruction;
+
+    private CumulativePacking packing;
+    private List<Problem> problems;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        packing = new CumulativePacking(reconstruction);
+        problems = new ArrayList<>(PROBLEMS);
+        for (String line : BenchmarkData.randomLines(PROBLEMS, items))
+            problems.add(Parser.getInstance().lineToProblem(line));
+    }
+
+    @Benchmark
+    public List<Triplet> solve() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalTriplets(BenchmarkData.copy(problems.get(cursor)));
+    }
+}
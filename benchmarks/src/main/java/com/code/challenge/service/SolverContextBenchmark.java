@@ -0,0 +1,60 @@
+package com.code.challenge.service;
+
+import com.code.challenge.benchmark.BenchmarkData;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving random problems of the same shape with fresh buffers per problem, on a copy since the problem is sorted
+ * in place, and with one SolverContext reused across problems. Run with -prof gc to compare bytes per solve.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverContextBenchmark {
+
+    private static final int PROBLEMS = 256;
+    private static final int CAPACITY = 100;
+
+    @Param({"LINKS", "SCAN"})
+    public Reconstruction reconstruction;
+
+    @Param({"5", "15"})
+    public int items;
+
+    private CumulativePacking packing;
+    private SolverContext context;
+    private List<Problem> problems;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        packing = new CumulativePacking(reconstruction);
+        context = new SolverContext();
+        Random random = new Random(BenchmarkData.SEED);
+        problems = new ArrayList<>(PROBLEMS);
+        for (int i = 0; i < PROBLEMS; i++)
+            problems.add(BenchmarkData.randomProblem(random, items, 1 + random.nextInt(CAPACITY), 100));
+    }
+
+    @Benchmark
+    public List<Triplet> solve() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalTriplets(BenchmarkData.copy(problems.get(cursor)));
+    }
+
+    @Benchmark
+    public List<Triplet> solveWithContext() {
+        cursor = (cursor + 1) & (PROBLEMS - 1);
+        return packing.getOptimalTriplets(problems.get(cursor), context);
+    }
+}
@@ -0,0 +1,24 @@
+package com.code.challenge.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of joining formatted solutions into the whole output, emitted once per output.
+ * Formatting of each solution is recorded apart, by FormatSolutionEvent.
+ */
+@Name("com.code.challenge.FormatOutput")
+@Label("Format Output")
+@Description("Formatted solutions joined into output text")
+@Category("Packer")
+public class FormatOutputEvent extends Event {
+    @Label("Solutions")
+    private int solutions;
+
+    public void setSolutions(int solutions) {
+        this.solutions = solutions;
+    }
+}
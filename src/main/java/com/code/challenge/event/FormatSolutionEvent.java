@@ -0,0 +1,26 @@
+package com.code.challenge.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of formatting the items of one solution. Only formats slower than the threshold are
+ * recorded by default, as one is emitted per solution.
+ */
+@Name("com.code.challenge.FormatSolution")
+@Label("Format Solution")
+@Description("Optimal items of a problem formatted into a solution")
+@Category("Packer")
+@Threshold("1 ms")
+public class FormatSolutionEvent extends Event {
+    @Label("Items")
+    private int items;
+
+    public void setItems(int items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,30 @@
+package com.code.challenge.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of parsing a whole input file into problems.
+ */
+@Name("com.code.challenge.ParseFile")
+@Label("Parse File")
+@Description("Input file parsed into problems")
+@Category("Packer")
+public class ParseFileEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Lines")
+    private int lines;
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setLines(int lines) {
+        this.lines = lines;
+    }
+}
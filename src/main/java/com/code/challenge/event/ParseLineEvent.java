@@ -0,0 +1,34 @@
+package com.code.challenge.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of parsing one line into a problem. Only lines slower than the threshold are recorded by
+ * default, as files hold millions of lines.
+ */
+@Name("com.code.challenge.ParseLine")
+@Label("Parse Line")
+@Description("Input line parsed into a problem")
+@Category("Packer")
+@Threshold("1 ms")
+public class ParseLineEvent extends Event {
+    @Label("Length")
+    @Description("Characters or bytes of the line")
+    private int length;
+
+    @Label("Items")
+    private int items;
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public void setItems(int items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,41 @@
+package com.code.challenge.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of solving one problem, telling its shape and the size of its final frontier. Only solves
+ * slower than the threshold are recorded by default.
+ */
+@Name("com.code.challenge.SolveProblem")
+@Label("Solve Problem")
+@Description("Problem solved by building cumulative sets and reading optimal items back")
+@Category("Packer")
+@Threshold("1 ms")
+public class SolveProblemEvent extends Event {
+    @Label("Items")
+    private int items;
+
+    @Label("Capacity")
+    private int capacity;
+
+    @Label("Frontier Size")
+    @Description("States of the cumulative set of the last stage")
+    private int frontierSize;
+
+    public void setItems(int items) {
+        this.items = items;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setFrontierSize(int frontierSize) {
+        this.frontierSize = frontierSize;
+    }
+}
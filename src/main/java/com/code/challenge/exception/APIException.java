@@ -9,4 +9,8 @@ public class APIException  extends RuntimeException{
     public APIException(Throwable cause) {
         super(cause);
     }
+
+    public APIException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
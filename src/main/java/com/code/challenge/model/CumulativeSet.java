@@ -1,50 +1,313 @@
 package com.code.challenge.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
 
 /**
  * Set Created as a result of merge operation.
+ * <p>
+ * States are kept in parallel primitive arrays of cumulative weights and costs,
+ * sorted in ascending order of weight, so adding a state allocates nothing.
+ * Weights and maximum capacity are fixed point integers in hundredths.
+ * <p>
+ * A linked set also records for each state the index of its predecessor state in the
+ * previous set and whether the item of this stage was taken to reach it.
+ * <p>
+ * A set with item sets records for each state a bitset of the stages whose item was taken,
+ * so a state can be turned into items without keeping any previous set.
  */
 public class CumulativeSet {
-    private List<Triplet> triplets;
-    private final int maximumCapacity;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
 
-    public CumulativeSet(List<Triplet> triplets, int maximumCapacity) {
-        this.triplets = triplets;
-        this.maximumCapacity = maximumCapacity;
-    }
+    private int[] weights;
+    private int[] costs;
+    private int[] links;
+    private long[] itemSets;
+    private final int itemSetWords;
+    private int size;
+    private int maximumCapacity;
 
     public CumulativeSet(int maximumCapacity) {
+        this(maximumCapacity, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public CumulativeSet(int maximumCapacity, int initialCapacity) {
+        this(maximumCapacity, initialCapacity, false);
+    }
+
+    public CumulativeSet(int maximumCapacity, int initialCapacity, boolean linked) {
+        this(maximumCapacity, initialCapacity, linked, 0);
+    }
+
+    /**
+     * @param maximumCapacity maximum capacity a package can take in hundredths.
+     * @param initialCapacity number of states arrays are sized for.
+     * @param linked          true to record predecessor links of states.
+     * @param stages          number of stages item sets should cover, 0 to keep no item set.
+     */
+    public CumulativeSet(int maximumCapacity, int initialCapacity, boolean linked, int stages) {
+        this(linked, stages == 0 ? 0 : (stages >>> 6) + 1, maximumCapacity, initialCapacity);
+    }
+
+    private CumulativeSet(boolean linked, int itemSetWords, int maximumCapacity, int initialCapacity) {
+        int length = Math.max(initialCapacity, 1);
         this.maximumCapacity = maximumCapacity;
-        this.triplets = new ArrayList<>();
+        this.weights = new int[length];
+        this.costs = new int[length];
+        this.links = linked ? new int[length] : null;
+        this.itemSetWords = itemSetWords;
+        this.itemSets = itemSetWords == 0 ? null : new long[length * itemSetWords];
     }
 
-    public List<Triplet> getTriplets() {
-        return triplets;
+    public int size() {
+        return size;
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    public int getCost(int index) {
+        return costs[index];
     }
 
     public int getMaximumCapacity() {
         return maximumCapacity;
     }
 
+    public boolean isLinked() {
+        return links != null;
+    }
+
+    /**
+     * @param index state index in this set.
+     * @return index of the state in previous set this state was built from.
+     */
+    public int getPredecessor(int index) {
+        return links[index] >>> 1;
+    }
+
+    /**
+     * @param index state index in this set.
+     * @return true if the item of this stage was added to predecessor state, otherwise false.
+     */
+    public boolean isTaken(int index) {
+        return (links[index] & 1) != 0;
+    }
+
+    /**
+     * @param index state index in this set.
+     * @param stage stage number, starting from 1 for the first item.
+     * @return true if the item of given stage was taken to reach the state, otherwise false.
+     */
+    public boolean isInItemSet(int index, int stage) {
+        return (itemSets[index * itemSetWords + (stage >>> 6)] & (1L << stage)) != 0;
+    }
+
+    /**
+     * Append a state to the end of this set, growing the arrays when full.
+     *
+     * @param weight cumulative weight of the state in hundredths.
+     * @param cost   cumulative cost of the state.
+     */
+    public void add(int weight, int cost) {
+        this.add(weight, cost, 0, false);
+    }
+
     /**
-     * Check if given Triplet exists in the list of triplets in this set.
+     * Append a state to the end of this set, growing the arrays when full.
+     * Predecessor and taken flag are only kept by a linked set.
      *
-     * @param triplet triplet to compare others with.
+     * @param weight      cumulative weight of the state in hundredths.
+     * @param cost        cumulative cost of the state.
+     * @param predecessor index of the state in previous set this state was built from.
+     * @param taken       true if the item of this stage was added to predecessor state.
+     */
+    public void add(int weight, int cost, int predecessor, boolean taken) {
+        this.ensureCapacity(size + 1);
+        weights[size] = weight;
+        costs[size] = cost;
+        if (links != null)
+            links[size] = predecessor << 1 | (taken ? 1 : 0);
+        if (itemSets != null)
+            Arrays.fill(itemSets, size * itemSetWords, (size + 1) * itemSetWords, 0L);
+        size++;
+    }
+
+    /**
+     * Append a copy of a state of another set, its item set is copied when both sets keep item sets.
+     *
+     * @param source      set to copy state from.
+     * @param index       index of the state in source set.
+     * @param predecessor index of the state in previous set the new state was built from.
+     * @param taken       true if the item of this stage was taken to reach the new state.
+     */
+    public void addFrom(CumulativeSet source, int index, int predecessor, boolean taken) {
+        this.add(source.weights[index], source.costs[index], predecessor, taken);
+        if (itemSets != null && source.itemSets != null)
+            System.arraycopy(source.itemSets, index * itemSetWords, itemSets, (size - 1) * itemSetWords, itemSetWords);
+    }
+
+    /**
+     * Append a range of states of a set with the same layout, links and item sets are copied as they are.
+     *
+     * @param source set to copy states from.
+     * @param from   index of first state to copy.
+     * @param to     index after last state to copy.
+     */
+    public void addAll(CumulativeSet source, int from, int to) {
+        int count = to - from;
+        if (count <= 0)
+            return;
+        this.ensureCapacity(size + count);
+        System.arraycopy(source.weights, from, weights, size, count);
+        System.arraycopy(source.costs, from, costs, size, count);
+        if (links != null)
+            System.arraycopy(source.links, from, links, size, count);
+        if (itemSets != null)
+            System.arraycopy(source.itemSets, from * itemSetWords, itemSets, size * itemSetWords, count * itemSetWords);
+        size += count;
+    }
+
+    /**
+     * Create an empty set keeping the same maximum capacity, links and item sets as this one.
+     *
+     * @param initialCapacity number of states arrays are sized for.
+     * @return new empty set.
+     */
+    public CumulativeSet newEmptySet(int initialCapacity) {
+        return new CumulativeSet(links != null, itemSetWords, maximumCapacity, initialCapacity);
+    }
+
+    /**
+     * Append a state built by taking the item of given stage on top of a state of another set,
+     * item set of the new state is the one of source state plus given stage.
+     *
+     * @param source set holding the state item is added to.
+     * @param index  index of the state in source set.
+     * @param weight cumulative weight of the new state in hundredths.
+     * @param cost   cumulative cost of the new state.
+     * @param stage  stage number of the item taken, starting from 1 for the first item.
+     */
+    public void addExtension(CumulativeSet source, int index, int weight, int cost, int stage) {
+        this.add(weight, cost, index, true);
+        if (itemSets != null) {
+            int offset = (size - 1) * itemSetWords;
+            if (source.itemSets != null)
+                System.arraycopy(source.itemSets, index * itemSetWords, itemSets, offset, itemSetWords);
+            itemSets[offset + (stage >>> 6)] |= 1L << stage;
+        }
+    }
+
+    private void ensureCapacity(int minimumCapacity) {
+        if (minimumCapacity <= weights.length)
+            return;
+        int length = Math.max(weights.length << 1, minimumCapacity);
+        weights = Arrays.copyOf(weights, length);
+        costs = Arrays.copyOf(costs, length);
+        if (links != null)
+            links = Arrays.copyOf(links, length);
+        if (itemSets != null)
+            itemSets = Arrays.copyOf(itemSets, length * itemSetWords);
+    }
+
+    /**
+     * Shrink arrays to the number of states, for a set kept until the backward pass.
+     */
+    public void trimToSize() {
+        if (size == weights.length)
+            return;
+        int length = Math.max(size, 1);
+        weights = Arrays.copyOf(weights, length);
+        costs = Arrays.copyOf(costs, length);
+        if (links != null)
+            links = Arrays.copyOf(links, length);
+        if (itemSets != null)
+            itemSets = Arrays.copyOf(itemSets, length * itemSetWords);
+    }
+
+    /**
+     * Remove states for which given condition holds, other states keep their order, links and item sets.
+     *
+     * @param condition condition on the index of a state, evaluated once per state in index order.
+     * @return number of states removed.
+     */
+    public int removeIf(IntPredicate condition) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (condition.test(i))
+                continue;
+            if (kept != i) {
+                weights[kept] = weights[i];
+                costs[kept] = costs[i];
+                if (links != null)
+                    links[kept] = links[i];
+                if (itemSets != null)
+                    System.arraycopy(itemSets, i * itemSetWords, itemSets, kept * itemSetWords, itemSetWords);
+            }
+            kept++;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Remove states heavier than given weight. States are sorted by weight, so these are the last ones
+     * and the remaining states keep their indices.
+     *
+     * @param weight highest weight to keep in hundredths.
+     * @return number of states removed.
+     */
+    public int removeHeavierThan(int weight) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (weights[middle] <= weight)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        int removed = size - low;
+        size = low;
+        return removed;
+    }
+
+    /**
+     * Remove all states keeping allocated arrays for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Remove all states keeping allocated arrays for reuse by a problem of another capacity.
+     *
+     * @param maximumCapacity maximum capacity a package can take in hundredths.
+     */
+    public void clear(int maximumCapacity) {
+        this.maximumCapacity = maximumCapacity;
+        size = 0;
+    }
+
+    /**
+     * Check if given state exists in this set.
+     *
+     * @param weight cumulative weight to look for in hundredths.
+     * @param cost   cumulative cost to look for.
      * @return true if exists, otherwise false.
      */
-    public boolean exists(Triplet triplet){
+    public boolean exists(int weight, int cost) {
 
         boolean found = false;
-        int cursor= this.getTriplets().size()-1;
-        for (int j= cursor; j >= 0; j--) {
-            Triplet currItem= this.getTriplets().get(j);
-            if (currItem.equals(triplet)) {
-                found= true;
+        int cursor = size - 1;
+        for (int j = cursor; j >= 0; j--) {
+            if (weights[j] == weight && costs[j] == cost) {
+                found = true;
                 break;
             }
-            if (currItem.getWeight() < triplet.getWeight())
+            if (weights[j] < weight)
                 break;
         }
         return found;
@@ -52,9 +315,15 @@ public class CumulativeSet {
 
     @Override
     public String toString() {
+        StringBuilder states = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                states.append(", ");
+            states.append('(').append(weights[i]).append(',').append(costs[i]).append(')');
+        }
         return "CumulativeSet{" +
                 "maximumCapacity=" + maximumCapacity +
-                ", triplets=" + triplets +
-                '}';
+                ", states=[" + states +
+                "]}";
     }
 }
@@ -1,13 +1,16 @@
 package com.code.challenge.model;
 
+import com.code.challenge.utility.Util;
+
 import java.util.Objects;
 
 /**
  * A Triplet represents an item in a package.
+ * Weight is kept as a fixed point integer in hundredths so comparisons are exact.
  */
 public class Triplet {
     private final int id;
-    private final float weight;
+    private final int weight;
     private final int cost;
 
     public Triplet(float weight, int cost) {
@@ -15,16 +18,39 @@ public class Triplet {
     }
 
     public Triplet(int id, float weight, int cost) {
+        this(id, Util.toFixedPoint(weight), cost);
+    }
+
+    private Triplet(int id, int weight, int cost) {
         this.id = id;
         this.weight = weight;
         this.cost = cost;
     }
 
+    /**
+     * Create a Triplet from a weight already converted to fixed point hundredths.
+     *
+     * @param id     item id.
+     * @param weight item weight in hundredths.
+     * @param cost   item cost.
+     * @return new triplet.
+     */
+    public static Triplet withFixedPointWeight(int id, int weight, int cost) {
+        return new Triplet(id, weight, cost);
+    }
+
     public int getId() {
         return id;
     }
 
     public float getWeight() {
+        return Util.fromFixedPoint(weight);
+    }
+
+    /**
+     * @return weight in hundredths.
+     */
+    public int getFixedPointWeight() {
         return weight;
     }
 
@@ -33,7 +59,7 @@ public class Triplet {
     }
 
     public float getRatio() {
-        return this.cost / this.weight;
+        return this.cost / this.getWeight();
     }
 
     @Override
@@ -41,20 +67,20 @@ public class Triplet {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Triplet triplet = (Triplet) o;
-        return  Float.compare(triplet.weight, weight) == 0 &&
+        return  weight == triplet.weight &&
                 cost == triplet.cost;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, weight, cost);
+        return Objects.hash(weight, cost);
     }
 
     @Override
     public String toString() {
         return "Triplet[" +
                 "id=" + id +
-                ", weight=" + weight +
+                ", weight=" + getWeight() +
                 ", cost=" + cost +
                 ']';
     }
@@ -0,0 +1,56 @@
+package com.code.challenge.packer;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.service.BinaryProblemWriter;
+import com.code.challenge.service.Parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Convert problem files from the text format to the binary format, see BinaryProblemReader.
+ */
+public class Converter {
+
+    /**
+     * Convert a text problem file to a binary problem file, one line at a time.
+     *
+     * @param textFile   path to text problem file.
+     * @param binaryFile path to binary problem file, replaced when it exists.
+     * @return number of problems converted.
+     * @throws APIException when text file can not be read or parsed, or binary file can not be written.
+     */
+    public static long convert(Path textFile, Path binaryFile) throws APIException {
+        long problems = 0;
+        try (Stream<Problem> lines = Parser.getInstance().stream(textFile);
+             BinaryProblemWriter writer = new BinaryProblemWriter(Files.newOutputStream(binaryFile))) {
+            Iterator<Problem> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                problems++;
+            }
+        } catch (IOException e) {
+            throw new APIException(e);
+        } catch (UncheckedIOException e) {
+            throw new APIException(e.getCause());
+        }
+        return problems;
+    }
+
+    /**
+     * Convert the text problem file given as first argument to the binary problem file given as second one.
+     *
+     * @param args text file path and binary file path.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2)
+            throw new APIException("Invalid parameter: text file and binary file paths required");
+        System.out.println(convert(Paths.get(args[0]), Paths.get(args[1])) + " problems converted");
+    }
+}
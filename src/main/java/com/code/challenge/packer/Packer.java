@@ -1,12 +1,27 @@
 package com.code.challenge.packer;
 
+import com.code.challenge.event.FormatOutputEvent;
 import com.code.challenge.service.*;
 import com.code.challenge.exception.APIException;
 import com.code.challenge.model.Problem;
-import com.mobiquityinc.service.*;
+import com.code.challenge.model.Triplet;
 
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public class Packer {
@@ -17,13 +32,285 @@ public class Packer {
         Packing service = new CumulativePacking();
         ListFormatter formatter = new NewLineFormatter();
 
-        List<Problem> problems = Parser.getInstance().parse(filePath);
+        List<Problem> problems;
+        if (filePath != null && BinaryProblemReader.isBinary(Paths.get(filePath))) {
+            try (Stream<Problem> binaryProblems = BinaryProblemReader.stream(Paths.get(filePath))) {
+                problems = binaryProblems.collect(Collectors.toList());
+            }
+        } else {
+            problems = Parser.getInstance().parse(filePath);
+        }
 
         List<String> solutions = problems.stream()
                 .map(service::getOptimalItemIdsInString)
                 .collect(Collectors.toList());
 
-        return formatter.format(solutions);
+        FormatOutputEvent event = new FormatOutputEvent();
+        event.begin();
+        String output = formatter.format(solutions);
+        if (event.shouldCommit()) {
+            event.setSolutions(solutions.size());
+            event.commit();
+        }
+        return output;
+    }
+
+    /**
+     * Solve problems of given input file on given number of threads.
+     * Solutions are in the same order and format as pack(String) returns.
+     *
+     * @param filePath path to input problem file.
+     * @param threads  number of threads solving problems.
+     * @return solutions of all lines joined with line separator.
+     * @throws APIException when file can not be read or parsed, or thread count is not positive.
+     */
+    public static String pack(String filePath, int threads) throws APIException {
+        StringWriter writer = new StringWriter();
+        pack(filePath == null ? null : Paths.get(filePath), writer, threads);
+        return writer.toString();
+    }
+
+    /**
+     * Solve problems of given input file one line at a time, writing each solution as soon as it is solved.
+     * Solutions are separated by line separator like pack(String) does, memory use does not depend on file size.
+     *
+     * @param filePath path to input problem file.
+     * @param writer   destination of solutions, flushed but not closed.
+     * @throws APIException when file can not be read or parsed, or writer fails.
+     */
+    public static void pack(Path filePath, Writer writer) throws APIException {
+        pack(filePath, writer, 1);
+    }
+
+    /**
+     * Solve problems of given input file on given number of threads, writing solutions in input order.
+     * Only a bounded number of problems is in flight, memory use does not depend on file size.
+     *
+     * @param filePath path to input problem file.
+     * @param writer   destination of solutions, flushed but not closed.
+     * @param threads  number of threads solving problems.
+     * @throws APIException when file can not be read or parsed, writer fails or thread count is not positive.
+     */
+    public static void pack(Path filePath, Writer writer, int threads) throws APIException {
+        pack(filePath, writer, new CumulativePacking(), threads);
+    }
+
+    /**
+     * Solve problems of given input file with given packing on given number of threads,
+     * writing solutions in input order. Packing is shared by all threads.
+     * A file starting with the header of binary problem files is read as one, see BinaryProblemReader.
+     *
+     * @param filePath path to input problem file.
+     * @param writer   destination of solutions, flushed but not closed.
+     * @param service  packing solving problems, for instance a CachingPacking for files repeating lines.
+     * @param threads  number of threads solving problems.
+     * @throws APIException when file can not be read or parsed, writer fails or thread count is not positive.
+     */
+    public static void pack(Path filePath, Writer writer, Packing service, int threads) throws APIException {
+        try (Stream<Problem> problems = streamProblems(filePath)) {
+            writeSolutions(problems, writer, service, threads);
+        }
+    }
+
+    /**
+     * Solve problems of given input file in batches of lines, lines of a batch with equal items list
+     * being answered from one frontier built for the highest of their capacities, see BatchPacking.
+     * Solutions are written in input order, memory use is bounded by batch size.
+     *
+     * @param filePath  path to input problem file.
+     * @param writer    destination of solutions, flushed but not closed.
+     * @param batchSize number of lines grouped at a time.
+     * @throws APIException when file can not be read or parsed, writer fails or batch size is not positive.
+     */
+    public static void packInBatches(Path filePath, Writer writer, int batchSize) throws APIException {
+        packInBatches(filePath, writer, new BatchPacking(), batchSize);
+    }
+
+    /**
+     * Solve problems of given input file in batches of lines with given batch packing, see
+     * packInBatches(Path, Writer, int).
+     *
+     * @param filePath  path to input problem file.
+     * @param writer    destination of solutions, flushed but not closed.
+     * @param service   batch packing over the CumulativePacking solving problems and building frontiers.
+     * @param batchSize number of lines grouped at a time.
+     * @throws APIException when file can not be read or parsed, writer fails or batch size is not positive.
+     */
+    public static void packInBatches(Path filePath, Writer writer, BatchPacking service, int batchSize) throws APIException {
+        validateBatchSize(batchSize);
+        try (Stream<Problem> problems = streamProblems(filePath)) {
+            writeSolutionsInBatches(problems, writer, service, batchSize);
+        }
+    }
+
+    /**
+     * Solve problems read from a UTF-8 input stream in batches of lines with given batch packing,
+     * writing solutions to output stream in input order, see packInBatches(Path, Writer, int).
+     *
+     * @param input     source of problem lines, not closed.
+     * @param output    destination of solutions, flushed but not closed.
+     * @param service   batch packing over the CumulativePacking solving problems and building frontiers.
+     * @param batchSize number of lines grouped at a time.
+     * @throws APIException when input can not be read or parsed, output fails or batch size is not positive.
+     */
+    public static void packInBatches(InputStream input, OutputStream output, BatchPacking service, int batchSize)
+            throws APIException {
+        validateBatchSize(batchSize);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Stream<Problem> problems = Parser.getInstance().stream(new InputStreamReader(input, StandardCharsets.UTF_8));
+        writeSolutionsInBatches(problems, writer, service, batchSize);
+    }
+
+    private static void validateBatchSize(int batchSize) throws APIException {
+        if (batchSize < 1)
+            throw new APIException("Invalid parameter: batch size must be positive");
+    }
+
+    private static void writeSolutionsInBatches(Stream<Problem> problems, Writer writer, BatchPacking service,
+                                                int batchSize) throws APIException {
+        Iterator<Problem> iterator = problems.iterator();
+        List<Problem> batch = new ArrayList<>(batchSize);
+
+        try {
+            SolutionWriter solutionWriter = new SolutionWriter(writer, SolutionWriter.DEFAULT_BUFFER_SIZE, service.getMetrics());
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() < batchSize && iterator.hasNext())
+                    continue;
+                for (List<Triplet> solution : service.getOptimalTriplets(batch))
+                    solutionWriter.write(solution);
+                batch.clear();
+            }
+            solutionWriter.flush();
+        } catch (UncheckedIOException e) {
+            throw new APIException(e.getCause());
+        }
+    }
+
+    /**
+     * Solve problems read from a UTF-8 input stream one line at a time, writing each solution
+     * to output stream as soon as it is solved.
+     *
+     * @param input  source of problem lines, not closed.
+     * @param output destination of solutions, flushed but not closed.
+     * @throws APIException when input can not be read or parsed, or output fails.
+     */
+    public static void pack(InputStream input, OutputStream output) throws APIException {
+        pack(input, output, 1);
+    }
+
+    /**
+     * Solve problems read from a UTF-8 input stream on given number of threads,
+     * writing solutions to output stream in input order.
+     *
+     * @param input   source of problem lines, not closed.
+     * @param output  destination of solutions, flushed but not closed.
+     * @param threads number of threads solving problems.
+     * @throws APIException when input can not be read or parsed, output fails or thread count is not positive.
+     */
+    public static void pack(InputStream input, OutputStream output, int threads) throws APIException {
+        pack(input, output, new CumulativePacking(), threads);
+    }
+
+    /**
+     * Solve problems read from a UTF-8 input stream with given packing on given number of threads,
+     * writing solutions to output stream in input order. Packing is shared by all threads.
+     *
+     * @param input   source of problem lines, not closed.
+     * @param output  destination of solutions, flushed but not closed.
+     * @param service packing solving problems, for instance a CachingPacking for inputs repeating lines.
+     * @param threads number of threads solving problems.
+     * @throws APIException when input can not be read or parsed, output fails or thread count is not positive.
+     */
+    public static void pack(InputStream input, OutputStream output, Packing service, int threads) throws APIException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Stream<Problem> problems = Parser.getInstance().stream(new InputStreamReader(input, StandardCharsets.UTF_8));
+        writeSolutions(problems, writer, service, threads);
+    }
+
+    /**
+     * Solve problems of the file given as first argument, or of standard input when no argument given,
+     * and write solutions to standard output.
+     * Number of solving threads is read from packer.threads system property, 1 by default.
+     * Solutions are cached when packer.cache.size system property sets a positive number of cached solutions.
+     * Packing engine is read from packer.engine system property, CUMULATIVE by default.
+     * A positive packer.batch.size system property solves input in batches of that many lines instead, answering
+     * lines of equal items from one frontier; it only runs on one thread with the CUMULATIVE engine and no cache.
+     * packer.metrics=true system property registers JmxPackingMetrics in the platform MBean server, recording parse
+     * times, set sizes and pass and format times; it only runs with the CUMULATIVE engine.
+     *
+     * @param args optional input file path.
+     */
+    public static void main(String[] args) {
+        int threads = Integer.getInteger("packer.threads", 1);
+        int cacheSize = Integer.getInteger("packer.cache.size", 0);
+        Engine engineName = Engine.of(System.getProperty("packer.engine", Engine.CUMULATIVE.name()));
+        boolean metricsEnabled = Boolean.getBoolean("packer.metrics");
+        if (metricsEnabled && engineName != Engine.CUMULATIVE)
+            throw new APIException("Invalid parameter: packer.metrics requires packer.engine CUMULATIVE");
+        int batchSize = Integer.getInteger("packer.batch.size", 0);
+        if (batchSize > 0 && (threads != 1 || cacheSize > 0 || engineName != Engine.CUMULATIVE))
+            throw new APIException("Invalid parameter: packer.batch.size requires packer.engine CUMULATIVE, "
+                    + "one packer.threads and no packer.cache.size");
+
+        Packing engine = engineName.create(PackingLimits.DEFAULT);
+        if (metricsEnabled) {
+            JmxPackingMetrics metrics = new JmxPackingMetrics();
+            metrics.register();
+            Parser.getInstance().setMetrics(metrics);
+            engine = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE, PackingLimits.DEFAULT, false,
+                    FrontierListener.NONE, metrics);
+        }
+
+        Packing service = cacheSize > 0 ? new CachingPacking(engine, cacheSize) : engine;
+        if (batchSize > 0) {
+            BatchPacking batchPacking = new BatchPacking((CumulativePacking) engine);
+            if (args.length > 0) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                packInBatches(Paths.get(args[0]), writer, batchPacking, batchSize);
+            } else {
+                packInBatches(System.in, System.out, batchPacking, batchSize);
+            }
+        } else if (args.length > 0) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            pack(Paths.get(args[0]), writer, service, threads);
+        } else {
+            pack(System.in, System.out, service, threads);
+        }
+    }
+
+    /**
+     * Read problems of a text or binary problem file, telling them apart by the header of binary files.
+     *
+     * @param filePath path to input problem file.
+     * @return Stream of problems in file order, to be closed to release the file.
+     * @throws APIException when file can not be opened.
+     */
+    private static Stream<Problem> streamProblems(Path filePath) throws APIException {
+        if (filePath != null && BinaryProblemReader.isBinary(filePath))
+            return BinaryProblemReader.stream(filePath);
+        return Parser.getInstance().stream(filePath);
+    }
+
+    private static void writeSolutions(Stream<Problem> problems, Writer writer, Packing service, int threads) throws APIException {
+        if (threads == 1)
+            writeSolutions(problems, writer, service);
+        else
+            new ParallelSolutionWriter(service, threads).write(problems, writer);
+    }
+
+    private static void writeSolutions(Stream<Problem> problems, Writer writer, Packing service) throws APIException {
+        Iterator<Problem> iterator = problems.iterator();
+
+        try {
+            SolutionWriter solutionWriter = new SolutionWriter(writer, SolutionWriter.DEFAULT_BUFFER_SIZE, service.getMetrics());
+            SolverContext context = new SolverContext();
+            while (iterator.hasNext())
+                solutionWriter.write(service.getOptimalTriplets(iterator.next(), context));
+            solutionWriter.flush();
+        } catch (UncheckedIOException e) {
+            throw new APIException(e.getCause());
+        }
     }
 
 }
@@ -0,0 +1,95 @@
+package com.code.challenge.packer;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.Packing;
+import com.code.challenge.service.SolutionWriter;
+import com.code.challenge.service.SolverContext;
+
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Solve problems on a pool of threads and write solutions in input order.
+ * <p>
+ * Problems are read in batches on the calling thread, each batch is solved by one pool thread.
+ * Only a few batches per thread are in flight at a time and the oldest one is written first,
+ * so output order matches input order and memory does not grow with input size.
+ * Solved items are formatted on the calling thread by a SolutionWriter, with no String per solution,
+ * format times going to the metrics of the packing.
+ * Each pool thread solves with its own SolverContext, reused by every batch it solves.
+ */
+class ParallelSolutionWriter {
+    private static final int BATCH_SIZE = 256;
+    private static final int PENDING_BATCHES_PER_THREAD = 2;
+
+    private final Packing service;
+    private final int threads;
+    private final ThreadLocal<SolverContext> contexts = ThreadLocal.withInitial(SolverContext::new);
+
+    ParallelSolutionWriter(Packing service, int threads) {
+        if (threads < 1)
+            throw new APIException("Invalid parameter: thread count must be positive");
+        this.service = service;
+        this.threads = threads;
+    }
+
+    /**
+     * Solve given problems and write their solutions separated by line separator.
+     *
+     * @param problems problems in input order.
+     * @param writer   destination of solutions, flushed but not closed.
+     * @throws APIException when a problem can not be read, parsed or solved, or writer fails.
+     */
+    void write(Stream<Problem> problems, Writer writer) throws APIException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<List<List<Triplet>>>> pendingBatches = new ArrayDeque<>();
+        Iterator<Problem> iterator = problems.iterator();
+        SolutionWriter solutionWriter = new SolutionWriter(writer, SolutionWriter.DEFAULT_BUFFER_SIZE, service.getMetrics());
+
+        try {
+            while (iterator.hasNext()) {
+                List<Problem> batch = new ArrayList<>(BATCH_SIZE);
+                while (iterator.hasNext() && batch.size() < BATCH_SIZE)
+                    batch.add(iterator.next());
+                pendingBatches.add(executor.submit(() -> this.solve(batch)));
+
+                if (pendingBatches.size() >= threads * PENDING_BATCHES_PER_THREAD)
+                    pendingBatches.poll().get().forEach(solutionWriter::write);
+            }
+            while (!pendingBatches.isEmpty())
+                pendingBatches.poll().get().forEach(solutionWriter::write);
+            solutionWriter.flush();
+        } catch (UncheckedIOException e) {
+            throw new APIException(e.getCause());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APIException)
+                throw (APIException) e.getCause();
+            throw new APIException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<List<Triplet>> solve(List<Problem> batch) {
+        List<List<Triplet>> solutions = new ArrayList<>(batch.size());
+        SolverContext context = contexts.get();
+        for (Problem problem : batch)
+            solutions.add(service.getOptimalTriplets(problem, context));
+        return solutions;
+    }
+}
@@ -0,0 +1,202 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Base of Packing engines: validation against PackingLimits, output format and the ratio ordering of items.
+ * <p>
+ * Engines agree on the solution of a problem: highest cost, then lowest weight, and among items sets of equal
+ * weight and cost the one the dominance pruned cumulative sets of CumulativePacking keep. Walking items from
+ * last to first in ratio order, an item is left out whenever the remaining weight and cost can be reached with
+ * earlier items only. Items of a solution are listed in that same walking order.
+ */
+public abstract class AbstractPacking implements Packing {
+
+    /**
+     * Descending cost/weight ratio, most valuable item per weight first; sorting is stable for equal ratios.
+     */
+    static final Comparator<Triplet> RATIO_ORDER = Comparator.comparing(Triplet::getRatio).reversed();
+
+    /**
+     * Descending cost/weight ratio compared exactly on fixed point weights, unlike float ratios of RATIO_ORDER.
+     */
+    static final Comparator<Triplet> EXACT_RATIO_ORDER = (first, second) -> Long.compare(
+            (long) second.getCost() * first.getFixedPointWeight(), (long) first.getCost() * second.getFixedPointWeight());
+
+    protected final PackingLimits limits;
+
+    protected AbstractPacking(PackingLimits limits) {
+        this.limits = limits;
+    }
+
+    public PackingLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Validate given problem against limits of this packing and solve it.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     * @throws APIException when problem exceeds limits of this packing.
+     */
+    @Override
+    public List<Triplet> getOptimalTriplets(Problem problem) throws APIException {
+        this.validateProblem(problem);
+        return this.solve(problem);
+    }
+
+    /**
+     * Solve a validated problem.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     */
+    protected abstract List<Triplet> solve(Problem problem);
+
+    /**
+     * Solve Given problem and produce optimal item sequence in a String.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
+     */
+    @Override
+    public String getOptimalItemIdsInString(Problem problem) {
+        return this.formatItemIds(this.getOptimalTriplets(problem));
+    }
+
+    /**
+     * Format items of a solution.
+     *
+     * @param optimalTriplets optimal triplets list.
+     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
+     */
+    protected String formatItemIds(List<Triplet> optimalTriplets) {
+        String output = optimalTriplets.stream()
+                .map(Triplet::getId)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+
+        return Util.defaultIfEmpty(output, "-");
+    }
+
+    /**
+     * Check a problem to have valid cost, weight and right number of items defined.
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @throws APIException when problem exceeds limits of this packing.
+     */
+    protected void validateProblem(Problem problem) throws APIException {
+         this.validateTripletCosts(problem);
+         this.validateTripletWeights(problem);
+         this.validateTripletMaxSize(problem);
+    }
+
+    /**
+     * Copy items of a problem fitting its capacity, sorted in ratio order. Problem is not modified.
+     *
+     * @param problem includes package capacity and list of items with their costs and weight.
+     * @return items which can be packed, most valuable per weight first.
+     */
+    protected List<Triplet> getRatioOrderedTriplets(Problem problem) {
+        int capacity = this.getFixedPointCapacity(problem);
+        List<Triplet> triplets = new ArrayList<>(problem.getTriplets());
+        triplets.sort(RATIO_ORDER);
+        triplets.removeIf(t -> t.getFixedPointWeight() > capacity);
+        return triplets;
+    }
+
+    /**
+     * Upper bound of cost of items fitting a capacity, filling it by exact ratio order and taking the fraction
+     * of the first item which does not fit.
+     *
+     * @param triplets items to pack, in any order.
+     * @param capacity capacity in hundredths.
+     * @return a cost no lower than cost of any items set fitting capacity.
+     */
+    protected static int getCostUpperBound(List<Triplet> triplets, int capacity) {
+        List<Triplet> ordered = new ArrayList<>(triplets);
+        ordered.sort(EXACT_RATIO_ORDER);
+        int remainingCapacity = capacity;
+        int bound = 0;
+        for (Triplet triplet : ordered) {
+            if (triplet.getFixedPointWeight() > remainingCapacity)
+                return bound + (int) ((long) remainingCapacity * triplet.getCost() / triplet.getFixedPointWeight());
+            remainingCapacity -= triplet.getFixedPointWeight();
+            bound += triplet.getCost();
+        }
+        return bound;
+    }
+
+    /**
+     * Convert package capacity defined in problem to fixed point hundredths, capped to int range.
+     * Limits keep total weight of items in int range, so a capped capacity still fits all of them.
+     *
+     * @param problem includes package capacity and list of items with their costs and weight.
+     * @return maximum capacity in hundredths.
+     */
+    protected int getFixedPointCapacity(Problem problem) {
+        return toFixedPointCapacity(problem.getMaxCapacity());
+    }
+
+    /**
+     * @param capacity package capacity.
+     * @return capacity in hundredths, capped to int range.
+     */
+    static int toFixedPointCapacity(int capacity) {
+        return (int) Math.min((long) capacity * Util.WEIGHT_SCALE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * validate right number of items be available in a problem.
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     */
+    private void validateTripletMaxSize(Problem problem) {
+        if (problem.getTriplets().size() > limits.getMaxItems())
+            throw new APIException(
+                    String.format("Invalid problem : Max items possible is %d", limits.getMaxItems()));
+
+    }
+
+    /**
+     * Validate all items weight values to be in valid range.
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     */
+    private void validateTripletWeights(Problem problem) {
+        int maxWeight = limits.getMaxItemWeight() * Util.WEIGHT_SCALE;
+        boolean anyInvalidWeight = false;
+        for (Triplet triplet : problem.getTriplets()) {
+            int weight = triplet.getFixedPointWeight();
+            anyInvalidWeight |= weight > maxWeight || weight <= 0;
+        }
+
+        if (anyInvalidWeight)
+            throw new APIException(
+                    String.format("Invalid problem : Max item weight possible is %d", limits.getMaxItemWeight()));
+
+    }
+
+    /**
+     * Validate all items cost values to be in valid range.
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     */
+    private void validateTripletCosts(Problem problem) {
+        int maxCost = limits.getMaxItemCost();
+        boolean anyInvalidCost = false;
+        for (Triplet triplet : problem.getTriplets()) {
+            int cost = triplet.getCost();
+            anyInvalidCost |= cost > maxCost || cost <= 0;
+        }
+
+        if (anyInvalidCost)
+            throw new APIException(
+                    String.format("Invalid problem : Max item cost possible is %d", limits.getMaxItemCost()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Packing selecting an engine per problem from item count, capacity and weight granularity.
+ * <p>
+ * A capacity table row costs one pass over capacity counted in units of the greatest common divisor of item
+ * weights, while a cumulative set only holds pairs not dominated by lighter ones. Table wins while capacity is
+ * a few hundred units at most, as with whole number weights, finer weights are left to CumulativePacking.
+ * Both engines give the same solution, so selection only changes speed.
+ */
+public class AdaptivePacking extends AbstractPacking {
+    static final int MAX_TABLE_WIDTH = 128;
+    static final int MAX_TABLE_CELLS = 1 << 22;
+
+    private final CumulativePacking cumulativePacking;
+    private final CapacityIndexedPacking capacityIndexedPacking;
+
+    public AdaptivePacking() {
+        this(PackingLimits.DEFAULT);
+    }
+
+    public AdaptivePacking(PackingLimits limits) {
+        super(limits);
+        this.cumulativePacking = new CumulativePacking(limits);
+        this.capacityIndexedPacking = new CapacityIndexedPacking(limits);
+    }
+
+    /**
+     * Solve given problem with the engine selected for it.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     */
+    @Override
+    protected List<Triplet> solve(Problem problem) {
+        return this.selectEngine(problem).solve(problem);
+    }
+
+    /**
+     * Select the engine expected to solve given problem fastest.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return CapacityIndexedPacking when capacity in weight units is small, otherwise CumulativePacking.
+     */
+    public AbstractPacking selectEngine(Problem problem) {
+        int capacity = this.getFixedPointCapacity(problem);
+        List<Triplet> fittingTriplets = problem.getTriplets().stream()
+                .filter(triplet -> triplet.getFixedPointWeight() <= capacity)
+                .collect(Collectors.toList());
+        if (fittingTriplets.isEmpty())
+            return cumulativePacking;
+
+        long width = (long) capacity / CapacityIndexedPacking.getWeightUnit(fittingTriplets) + 1;
+        if (width <= MAX_TABLE_WIDTH && width * (fittingTriplets.size() + 1) <= MAX_TABLE_CELLS)
+            return capacityIndexedPacking;
+        return cumulativePacking;
+    }
+}
@@ -0,0 +1,115 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Solve a batch of problems, answering problems of equal items list from one ParetoFrontier.
+ * <p>
+ * Problems are grouped by items list, same ids, weights and costs in the same order. A group of one problem is
+ * solved as usual, a larger group builds the frontier of its items once for its highest capacity and looks up
+ * each capacity in it. Solutions are the same as solving each problem with the packing.
+ */
+public class BatchPacking {
+    private final CumulativePacking packing;
+
+    public BatchPacking() {
+        this(new CumulativePacking());
+    }
+
+    /**
+     * @param packing packing building frontiers and solving problems of their own group.
+     */
+    public BatchPacking(CumulativePacking packing) {
+        this.packing = packing;
+    }
+
+    /**
+     * Solve given problems, grouping the ones of equal items list.
+     *
+     * @param problems problems to solve, not modified.
+     * @return Selected triplet item ids of each problem in a comma delimited string and - for empty strings,
+     * in order of problems.
+     * @throws APIException when a problem exceeds limits of the packing.
+     */
+    public List<String> getOptimalItemIdsInStrings(List<Problem> problems) throws APIException {
+        List<String> solutions = new ArrayList<>(problems.size());
+        for (List<Triplet> triplets : this.getOptimalTriplets(problems))
+            solutions.add(packing.formatItemIds(triplets));
+        return solutions;
+    }
+
+    /**
+     * Solve given problems, grouping the ones of equal items list.
+     *
+     * @param problems problems to solve, not modified.
+     * @return optimal triplets list of each problem, in order of problems.
+     * @throws APIException when a problem exceeds limits of the packing.
+     */
+    public List<List<Triplet>> getOptimalTriplets(List<Problem> problems) throws APIException {
+        Map<ItemsKey, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < problems.size(); i++)
+            groups.computeIfAbsent(new ItemsKey(problems.get(i).getTriplets()), key -> new ArrayList<>()).add(i);
+
+        List<List<Triplet>> solutions = new ArrayList<>(Collections.nCopies(problems.size(), null));
+        for (List<Integer> indices : groups.values()) {
+            if (indices.size() == 1) {
+                Problem problem = problems.get(indices.get(0));
+                solutions.set(indices.get(0), packing.getOptimalTriplets(
+                        new Problem(problem.getMaxCapacity(), new ArrayList<>(problem.getTriplets()))));
+                continue;
+            }
+
+            int maxCapacity = indices.stream().mapToInt(i -> problems.get(i).getMaxCapacity()).max().getAsInt();
+            ParetoFrontier frontier = packing.buildParetoFrontier(problems.get(indices.get(0)).getTriplets(), maxCapacity);
+            for (int i : indices)
+                solutions.set(i, frontier.getOptimalTriplets(problems.get(i).getMaxCapacity()));
+        }
+
+        return solutions;
+    }
+
+    /**
+     * @return metrics of the packing.
+     */
+    public PackingMetrics getMetrics() {
+        return packing.getMetrics();
+    }
+
+    /**
+     * Items list compared by id, weight and cost of each item in order; Triplet equality ignores ids.
+     */
+    private static final class ItemsKey {
+        private final int[] values;
+        private final int hash;
+
+        ItemsKey(List<Triplet> triplets) {
+            values = new int[triplets.size() * 3];
+            for (int i = 0; i < triplets.size(); i++) {
+                Triplet triplet = triplets.get(i);
+                values[i * 3] = triplet.getId();
+                values[i * 3 + 1] = triplet.getFixedPointWeight();
+                values[i * 3 + 2] = triplet.getCost();
+            }
+            hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ItemsKey && Arrays.equals(values, ((ItemsKey) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
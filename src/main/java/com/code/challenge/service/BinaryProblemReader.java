@@ -0,0 +1,274 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read problems of the binary format written by BinaryProblemWriter.
+ * <p>
+ * A file starts with the 4 bytes of HEADER, then holds one record per problem: record length in bytes, capacity,
+ * number of items and, for each item, its id, weight in hundredths and cost. Every number is an unsigned LEB128
+ * varint, so costs up to 127 take a single byte and weights up to 163.83 two.
+ * <p>
+ * Records are decoded in place with absolute reads of the buffer, no bytes are copied. Files are memory mapped in
+ * windows, a window ending inside a record is mapped again from the start of that record.
+ */
+public class BinaryProblemReader implements Iterator<Problem> {
+    /**
+     * First bytes of a binary problem file: "PKB" and format version 1. Text files start with a digit.
+     */
+    static final byte[] HEADER = {'P', 'K', 'B', 1};
+
+    private static final int WINDOW_SIZE = 256 << 20;
+
+    private final ByteBuffer buffer;
+    private final long bufferOffset;
+    private int position;
+
+    /**
+     * @param buffer bytes of a binary problem file from its header, read from its position to its limit.
+     * @throws APIException when buffer does not start with the header.
+     */
+    public BinaryProblemReader(ByteBuffer buffer) throws APIException {
+        this(buffer, 0);
+        if (!startsWithHeader(buffer, buffer.position()))
+            throw new APIException("Invalid binary problem: header not found");
+        position += HEADER.length;
+    }
+
+    /**
+     * @param buffer       records starting at buffer position.
+     * @param bufferOffset file position of buffer position, for error messages.
+     */
+    private BinaryProblemReader(ByteBuffer buffer, long bufferOffset) {
+        this.buffer = buffer;
+        this.bufferOffset = bufferOffset - buffer.position();
+        this.position = buffer.position();
+    }
+
+    /**
+     * @param filePath path to a file.
+     * @return true if the file exists and starts with the header of binary problem files.
+     * @throws APIException when an existing file can not be read.
+     */
+    public static boolean isBinary(Path filePath) throws APIException {
+        if (!Files.isRegularFile(filePath))
+            return false;
+        try (InputStream input = Files.newInputStream(filePath)) {
+            byte[] bytes = new byte[HEADER.length];
+            int read = 0;
+            for (int count; read < bytes.length && (count = input.read(bytes, read, bytes.length - read)) > 0; )
+                read += count;
+            return read == bytes.length && Arrays.equals(bytes, HEADER);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Read problems of a binary problem file lazily from memory mapped windows.
+     * Stream must be closed to release the file.
+     *
+     * @param filePath path to binary problem file.
+     * @return Stream of problems in file order.
+     * @throws APIException when file can not be opened or has no header, or later from the stream when a record
+     *                      is truncated or malformed, message tells its byte position.
+     */
+    public static Stream<Problem> stream(Path filePath) throws APIException {
+        try {
+            FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+            try {
+                return StreamSupport
+                        .stream(Spliterators.spliteratorUnknownSize(new MappedIterator(channel),
+                                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                        .onClose(() -> close(channel));
+            } catch (RuntimeException e) {
+                close(channel);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < buffer.limit();
+    }
+
+    /**
+     * @return next problem of the buffer.
+     * @throws APIException when the record is truncated or malformed.
+     */
+    @Override
+    public Problem next() throws APIException {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+        int end = this.getRecordEnd();
+        if (end < 0)
+            throw this.invalid("truncated record", position);
+
+        int start = position;
+        position = this.skipVarint(position);
+        int capacity = this.readVarint(end);
+        int items = this.readVarint(end);
+        List<Triplet> triplets = new ArrayList<>(Math.min(items, end - position));
+        for (int i = 0; i < items; i++) {
+            int id = this.readVarint(end);
+            int weight = this.readVarint(end);
+            int cost = this.readVarint(end);
+            triplets.add(Triplet.withFixedPointWeight(id, weight, cost));
+        }
+        if (position != end)
+            throw this.invalid("record length does not match its items", start);
+        return new Problem(capacity, triplets);
+    }
+
+    /**
+     * @return buffer position after the record at current position, -1 when the buffer ends before it.
+     */
+    private int getRecordEnd() {
+        long length = 0;
+        int index = position;
+        for (int shift = 0; ; shift += 7) {
+            if (index >= buffer.limit())
+                return -1;
+            if (shift > 28)
+                throw this.invalid("malformed record length", position);
+            byte b = buffer.get(index++);
+            length |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                break;
+        }
+        long end = index + length;
+        return end <= buffer.limit() ? (int) end : -1;
+    }
+
+    /**
+     * Read an unsigned LEB128 varint at current position and move past it.
+     *
+     * @param end position after the current record.
+     * @return value of the varint.
+     */
+    private int readVarint(int end) {
+        int start = position;
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position >= end || shift > 28)
+                throw this.invalid("malformed number", start);
+            byte b = buffer.get(position++);
+            if (shift == 28 && (b & 0x78) != 0)
+                throw this.invalid("number out of int range", start);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                break;
+        }
+        return value;
+    }
+
+    private int skipVarint(int index) {
+        while (buffer.get(index) < 0)
+            index++;
+        return index + 1;
+    }
+
+    private APIException invalid(String reason, int index) {
+        return new APIException(String.format("Invalid binary problem: %s at byte %d", reason, bufferOffset + index));
+    }
+
+    private static boolean startsWithHeader(ByteBuffer buffer, int index) {
+        if (buffer.limit() - index < HEADER.length)
+            return false;
+        for (int i = 0; i < HEADER.length; i++)
+            if (buffer.get(index + i) != HEADER[i])
+                return false;
+        return true;
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Walk a file window by window, mapping the next window from the first record not complete in the current one.
+     */
+    private static class MappedIterator implements Iterator<Problem> {
+        private final FileChannel channel;
+        private final long fileSize;
+        private long windowStart;
+        private long windowEnd;
+        private BinaryProblemReader reader;
+
+        MappedIterator(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            this.reader = new BinaryProblemReader(this.map(0));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!reader.hasNext()) {
+                if (windowEnd == fileSize)
+                    return false;
+                this.remap();
+            }
+            while (reader.getRecordEnd() < 0 && windowEnd < fileSize)
+                this.remap();
+            return true;
+        }
+
+        @Override
+        public Problem next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return reader.next();
+        }
+
+        /**
+         * Map from the current position of the reader, twice as much when a single record does not fit a window.
+         */
+        private void remap() {
+            long start = windowStart + reader.position;
+            long size = start == windowStart ? (windowEnd - windowStart) << 1 : WINDOW_SIZE;
+            if (size > Integer.MAX_VALUE)
+                throw reader.invalid("record longer than mapping limit", reader.position);
+            try {
+                reader = new BinaryProblemReader(this.map(start, size), start);
+            } catch (IOException e) {
+                throw new APIException(e);
+            }
+        }
+
+        private ByteBuffer map(long start) throws IOException {
+            return this.map(start, WINDOW_SIZE);
+        }
+
+        private ByteBuffer map(long start, long size) throws IOException {
+            windowStart = start;
+            windowEnd = Math.min(fileSize, start + size);
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnd - start);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Write problems in the binary format read by BinaryProblemReader: a header, then one length prefixed record of
+ * varints per problem. A record is encoded in a reusable array before its length is written, so writing a problem
+ * allocates nothing once the array fits the largest record.
+ */
+public class BinaryProblemWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private final OutputStream output;
+    private byte[] record = new byte[256];
+    private int recordSize;
+
+    /**
+     * Write the header to given stream, which is buffered by the writer.
+     *
+     * @param output destination of problems, closed when the writer is closed.
+     * @throws APIException when the header can not be written.
+     */
+    public BinaryProblemWriter(OutputStream output) throws APIException {
+        this.output = new BufferedOutputStream(output, BUFFER_SIZE);
+        try {
+            this.output.write(BinaryProblemReader.HEADER);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * @param problem problem to append.
+     * @throws APIException when capacity, an id, weight or cost is negative, or the stream fails.
+     */
+    public void write(Problem problem) throws APIException {
+        recordSize = 0;
+        this.append(problem.getMaxCapacity());
+        this.append(problem.getTriplets().size());
+        for (Triplet triplet : problem.getTriplets()) {
+            this.append(triplet.getId());
+            this.append(triplet.getFixedPointWeight());
+            this.append(triplet.getCost());
+        }
+
+        try {
+            int length = recordSize;
+            do {
+                output.write(length > 0x7F ? (length & 0x7F) | 0x80 : length);
+                length >>>= 7;
+            } while (length != 0);
+            output.write(record, 0, recordSize);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Flush buffered records and close the stream.
+     *
+     * @throws APIException when the stream fails.
+     */
+    @Override
+    public void close() throws APIException {
+        try {
+            output.close();
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Append a number to the record as an unsigned LEB128 varint.
+     *
+     * @param value non negative number.
+     */
+    private void append(int value) {
+        if (value < 0)
+            throw new APIException(String.format("Invalid problem : can not encode negative number %d", value));
+        if (recordSize + 5 > record.length)
+            record = Arrays.copyOf(record, record.length << 1);
+        while (value > 0x7F) {
+            record[recordSize++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        record[recordSize++] = (byte) value;
+    }
+}
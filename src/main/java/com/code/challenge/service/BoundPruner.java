@@ -0,0 +1,115 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.CumulativeSet;
+import com.code.challenge.model.Triplet;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Remove states of cumulative sets which can not reach the cost of the best items found so far.
+ * <p>
+ * Bound of a state is its cost plus the Dantzig bound of items of later stages: whole items by exact ratio while
+ * they fit remaining capacity, then a fraction of the first one which does not. Best cost found so far, the
+ * incumbent, is the highest of costliest states and their greedy completions with later items. A state bounded
+ * below incumbent leads to no optimal items set, states on the way to every optimal items set are kept, so backward
+ * passes give the same items as without pruning.
+ * <p>
+ * One pruner serves one problem, its arrays are allocated once and rebuilt in place for each stage.
+ */
+final class BoundPruner {
+    private final int capacity;
+    private final int[] weights;
+    private final int[] costs;
+    private final int[] stages;
+    /**
+     * Weight and cost of the first i items of later stages in exact ratio order, at index i.
+     */
+    private final int[] prefixWeights;
+    private final int[] prefixCosts;
+    /**
+     * Index in exact ratio order of the i-th item of later stages, at index i.
+     */
+    private final int[] prefixItems;
+    private int prefixSize;
+    private int incumbent;
+
+    /**
+     * @param triplets items in stage order, sentinel at stage 0.
+     * @param capacity capacity in hundredths.
+     */
+    BoundPruner(List<Triplet> triplets, int capacity) {
+        this.capacity = capacity;
+        this.stages = IntStream.range(1, triplets.size()).boxed()
+                .sorted((first, second) -> AbstractPacking.EXACT_RATIO_ORDER.compare(triplets.get(first), triplets.get(second)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.weights = new int[stages.length];
+        this.costs = new int[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            weights[i] = triplets.get(stages[i]).getFixedPointWeight();
+            costs[i] = triplets.get(stages[i]).getCost();
+        }
+        this.prefixWeights = new int[stages.length + 1];
+        this.prefixCosts = new int[stages.length + 1];
+        this.prefixItems = new int[stages.length];
+    }
+
+    /**
+     * Remove states of a set bounded below incumbent, after raising incumbent with the costliest state of the set.
+     *
+     * @param set   cumulative set of given stage, sorted by weight.
+     * @param stage stage of the set, items of later stages are still to be added.
+     * @return number of states removed.
+     */
+    int prune(CumulativeSet set, int stage) {
+        prefixSize = 0;
+        for (int i = 0; i < stages.length; i++) {
+            if (stages[i] <= stage)
+                continue;
+            prefixItems[prefixSize] = i;
+            prefixWeights[prefixSize + 1] = prefixWeights[prefixSize] + weights[i];
+            prefixCosts[prefixSize + 1] = prefixCosts[prefixSize] + costs[i];
+            prefixSize++;
+        }
+
+        int last = set.size() - 1;
+        incumbent = Math.max(incumbent, this.getGreedyCost(stage, set.getWeight(last), set.getCost(last)));
+        return set.removeIf(index -> this.getBound(set.getWeight(index), set.getCost(index)) < incumbent);
+    }
+
+    /**
+     * @return cost of a state plus Dantzig bound of items of later stages on remaining capacity.
+     */
+    private long getBound(int weight, int cost) {
+        int remainingCapacity = capacity - weight;
+        int low = 0;
+        int high = prefixSize;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (prefixWeights[middle] <= remainingCapacity)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+        long bound = (long) cost + prefixCosts[low];
+        if (low == prefixSize)
+            return bound;
+        int critical = prefixItems[low];
+        return bound + (long) (remainingCapacity - prefixWeights[low]) * costs[critical] / weights[critical];
+    }
+
+    /**
+     * @return cost of a state plus items of later stages taken by exact ratio whenever they fit.
+     */
+    private int getGreedyCost(int stage, int weight, int cost) {
+        int remainingCapacity = capacity - weight;
+        for (int i = 0; i < stages.length; i++) {
+            if (stages[i] > stage && weights[i] <= remainingCapacity) {
+                remainingCapacity -= weights[i];
+                cost += costs[i];
+            }
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,181 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Concrete class to solve packing problem with a depth first branch and bound.
+ * <p>
+ * Items are tried in exact ratio order, taking an item before leaving it out, and a branch is cut when the Dantzig
+ * bound, filling remaining capacity by ratio and a fraction of the first item not fitting, can not beat the best
+ * items found so far. Search runs on an explicit stack of int arrays allocated once per problem, so memory stays
+ * linear in number of items whatever the capacity, where cumulative sets and tables grow with it.
+ * <p>
+ * Search gives the optimal weight and cost and one items set reaching them. Items are then picked walking items
+ * from last to first in ratio order: an item outside that set is left out, as earlier items reach the same weight
+ * and cost, and an item inside it is left out only when a search stopping at the first match finds earlier items
+ * reaching them, which becomes the set to follow. This gives the same items as CumulativePacking.
+ */
+public class BranchAndBoundPacking extends AbstractPacking {
+
+    public BranchAndBoundPacking() {
+        this(PackingLimits.DEFAULT);
+    }
+
+    public BranchAndBoundPacking(PackingLimits limits) {
+        super(limits);
+    }
+
+    /**
+     * Solve Given problem and produce optimal item sequence as list of Triplets.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     */
+    @Override
+    protected List<Triplet> solve(Problem problem) {
+        List<Triplet> triplets = this.getRatioOrderedTriplets(problem);
+        Search search = new Search(triplets);
+        search.findBest(triplets.size(), this.getFixedPointCapacity(problem), 0, 0, false);
+
+        int weight = search.bestWeight;
+        int cost = search.bestCost;
+        boolean[] witness = search.bestItems;
+        List<Triplet> solution = new ArrayList<>();
+        for (int k = triplets.size(); k > 0 && cost > 0; k--) {
+            if (!witness[k - 1] || search.findBest(k - 1, weight, cost, weight + 1, true))
+                continue;
+            Triplet triplet = triplets.get(k - 1);
+            solution.add(triplet);
+            weight -= triplet.getFixedPointWeight();
+            cost -= triplet.getCost();
+        }
+        return solution;
+    }
+
+    /**
+     * Iterative depth first search over items in exact ratio order, reused for every search of a problem.
+     */
+    private static final class Search {
+        private static final byte LEFT_OUT = 0;
+        private static final byte TAKEN = 1;
+
+        private final int[] weights;
+        private final int[] costs;
+        private final int[] stages;
+        private final byte[] decisions;
+        private final boolean[] bestItems;
+        private int bestWeight;
+        private int bestCost;
+
+        /**
+         * @param triplets items in ratio order, the stage of an item is its index.
+         */
+        Search(List<Triplet> triplets) {
+            int size = triplets.size();
+            this.weights = new int[size];
+            this.costs = new int[size];
+            this.stages = IntStream.range(0, size).boxed()
+                    .sorted((first, second) -> EXACT_RATIO_ORDER.compare(triplets.get(first), triplets.get(second)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.decisions = new byte[size];
+            this.bestItems = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                Triplet triplet = triplets.get(stages[i]);
+                weights[i] = triplet.getFixedPointWeight();
+                costs[i] = triplet.getCost();
+            }
+        }
+
+        /**
+         * Search items sets of items before a stage fitting capacity for one costing more than a best cost,
+         * or costing the same and weighing less than a best weight.
+         *
+         * @param stageLimit  only items of lower stages are packed.
+         * @param capacity    capacity in hundredths.
+         * @param bestCost    cost to beat.
+         * @param bestWeight  weight to beat at same cost.
+         * @param stopAtFirst stop at first better items set rather than the best one.
+         * @return true when a better items set was found; best weight, cost and items are updated to it.
+         */
+        boolean findBest(int stageLimit, int capacity, int bestCost, int bestWeight, boolean stopAtFirst) {
+            this.bestCost = bestCost;
+            this.bestWeight = bestWeight;
+            boolean found = false;
+            int size = weights.length;
+            int depth = 0;
+            int weight = 0;
+            int cost = 0;
+
+            while (true) {
+                if (cost > this.bestCost || (cost == this.bestCost && weight < this.bestWeight)) {
+                    this.bestCost = cost;
+                    this.bestWeight = weight;
+                    Arrays.fill(bestItems, false);
+                    for (int i = 0; i < depth; i++)
+                        bestItems[stages[i]] = decisions[i] == TAKEN;
+                    found = true;
+                    if (stopAtFirst)
+                        return true;
+                }
+
+                boolean descend = depth < size;
+                if (descend) {
+                    long bound = cost + this.getBound(depth, stageLimit, capacity - weight);
+                    descend = bound > this.bestCost || (bound == this.bestCost && weight < this.bestWeight);
+                }
+
+                if (descend) {
+                    if (stages[depth] < stageLimit && weights[depth] <= capacity - weight) {
+                        decisions[depth] = TAKEN;
+                        weight += weights[depth];
+                        cost += costs[depth];
+                    } else {
+                        decisions[depth] = LEFT_OUT;
+                    }
+                    depth++;
+                    continue;
+                }
+
+                // backtrack to the deepest taken item and leave it out instead
+                do {
+                    if (depth == 0)
+                        return found;
+                    depth--;
+                } while (decisions[depth] == LEFT_OUT);
+                decisions[depth] = LEFT_OUT;
+                weight -= weights[depth];
+                cost -= costs[depth];
+                depth++;
+            }
+        }
+
+        /**
+         * Dantzig bound of items from given depth: whole items by ratio while they fit, then a fraction of the first
+         * one which does not.
+         *
+         * @param depth      first item to consider.
+         * @param stageLimit only items of lower stages are counted.
+         * @param capacity   remaining capacity in hundredths.
+         * @return highest cost items from given depth could add.
+         */
+        private long getBound(int depth, int stageLimit, int capacity) {
+            long bound = 0;
+            for (int i = depth; i < weights.length; i++) {
+                if (stages[i] >= stageLimit)
+                    continue;
+                if (weights[i] > capacity)
+                    return bound + (long) capacity * costs[i] / weights[i];
+                capacity -= weights[i];
+                bound += costs[i];
+            }
+            return bound;
+        }
+    }
+}
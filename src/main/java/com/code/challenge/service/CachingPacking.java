@@ -0,0 +1,199 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Packing decorator keeping solutions of recently solved problems in a bounded LRU cache.
+ * <p>
+ * A problem is keyed by its capacity and the multiset of its items' weights and costs, so the same items
+ * in any order and with any ids hit the same entry. The key puts items in canonical order, sorted by weight then
+ * cost keeping input order of identical items. A missing problem is solved by the wrapped packing in its input
+ * order, so it gets the same solution as without cache, and the solution is cached as the canonical positions of
+ * the items chosen. A hit turns positions back into the triplets of the problem being solved: a problem with the
+ * same items in another order gets an optimal solution, which may differ from the wrapped packing's one when items
+ * tie on ratio.
+ * <p>
+ * Lookups are synchronized on the cache, solving is not: two threads missing the same key both solve it.
+ * Problems the wrapped Packing rejects are not cached. Given problems are not modified.
+ */
+public class CachingPacking implements Packing {
+    private static final Comparator<Triplet> CANONICAL_ORDER = Comparator
+            .comparingInt(Triplet::getFixedPointWeight)
+            .thenComparingInt(Triplet::getCost);
+
+    private final Packing packing;
+    private final Map<ProblemKey, int[]> solutions;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param packing  packing solving problems missing in cache.
+     * @param capacity maximum number of solutions kept, least recently used one is evicted first.
+     */
+    public CachingPacking(Packing packing, int capacity) {
+        if (capacity < 1)
+            throw new APIException("Invalid parameter: cache capacity must be positive");
+        this.packing = packing;
+        this.solutions = new LinkedHashMap<ProblemKey, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProblemKey, int[]> eldest) {
+                if (size() <= capacity)
+                    return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Return cached solution of given problem, or solve it with wrapped packing and cache its solution.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     */
+    @Override
+    public List<Triplet> getOptimalTriplets(Problem problem) {
+        List<Triplet> triplets = problem.getTriplets();
+        Integer[] canonicalIndexes = new Integer[triplets.size()];
+        for (int i = 0; i < canonicalIndexes.length; i++)
+            canonicalIndexes[i] = i;
+        Arrays.sort(canonicalIndexes, Comparator.comparing(triplets::get, CANONICAL_ORDER));
+        List<Triplet> canonicalTriplets = new ArrayList<>(canonicalIndexes.length);
+        for (Integer index : canonicalIndexes)
+            canonicalTriplets.add(triplets.get(index));
+        ProblemKey key = new ProblemKey(problem.getMaxCapacity(), canonicalTriplets);
+
+        int[] positions;
+        synchronized (solutions) {
+            positions = solutions.get(key);
+        }
+        if (positions != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            positions = this.solve(problem.getMaxCapacity(), triplets, canonicalIndexes);
+            synchronized (solutions) {
+                solutions.put(key, positions);
+            }
+        }
+
+        List<Triplet> optimalTriplets = new ArrayList<>(positions.length);
+        for (int position : positions)
+            optimalTriplets.add(canonicalTriplets.get(position));
+        return optimalTriplets;
+    }
+
+    /**
+     * Solve given problem and produce optimal item sequence in a String, see CumulativePacking.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
+     */
+    @Override
+    public String getOptimalItemIdsInString(Problem problem) {
+        String output = this.getOptimalTriplets(problem).stream()
+                .map(Triplet::getId)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+
+        return Util.defaultIfEmpty(output, "-");
+    }
+
+    /**
+     * @return metrics of the wrapped packing.
+     */
+    @Override
+    public PackingMetrics getMetrics() {
+        return packing.getMetrics();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of solutions currently cached.
+     */
+    public int size() {
+        synchronized (solutions) {
+            return solutions.size();
+        }
+    }
+
+    /**
+     * Solve a copy of the problem, in input order, whose item ids are replaced by their input positions plus one.
+     *
+     * @param capacity         package capacity.
+     * @param triplets         items in input order.
+     * @param canonicalIndexes input positions of items in canonical order.
+     * @return canonical positions of optimal items, in the order wrapped packing returned them.
+     */
+    private int[] solve(int capacity, List<Triplet> triplets, Integer[] canonicalIndexes) {
+        List<Triplet> positionTriplets = new ArrayList<>(triplets.size());
+        for (int i = 0; i < triplets.size(); i++) {
+            Triplet triplet = triplets.get(i);
+            positionTriplets.add(Triplet.withFixedPointWeight(i + 1, triplet.getFixedPointWeight(), triplet.getCost()));
+        }
+        int[] canonicalPositions = new int[canonicalIndexes.length];
+        for (int i = 0; i < canonicalIndexes.length; i++)
+            canonicalPositions[canonicalIndexes[i]] = i;
+
+        return packing.getOptimalTriplets(new Problem(capacity, positionTriplets)).stream()
+                .mapToInt(triplet -> canonicalPositions[triplet.getId() - 1])
+                .toArray();
+    }
+
+    /**
+     * Capacity and canonically ordered weights and costs of a problem's items.
+     */
+    private static class ProblemKey {
+        private final int capacity;
+        private final long[] items;
+        private final int hash;
+
+        ProblemKey(int capacity, List<Triplet> canonicalTriplets) {
+            this.capacity = capacity;
+            this.items = new long[canonicalTriplets.size()];
+            for (int i = 0; i < items.length; i++) {
+                Triplet triplet = canonicalTriplets.get(i);
+                items[i] = (long) triplet.getFixedPointWeight() << 32 | (triplet.getCost() & 0xFFFFFFFFL);
+            }
+            this.hash = 31 * capacity + Arrays.hashCode(items);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ProblemKey that = (ProblemKey) o;
+            return capacity == that.capacity &&
+                    Arrays.equals(items, that.items);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Concrete class to solve packing problem with a table indexed by weight.
+ * <p>
+ * Weights are counted in units of the greatest common divisor of item weights in hundredths. Row k of the
+ * table holds, for each weight up to capacity, the highest cost of items among the first k in ratio order
+ * weighing exactly that much, or -1 when no such items exist. A row is built from the previous one in a single
+ * pass over a flat int array, so time and memory grow with items times capacity in units.
+ * <p>
+ * Backward pass starts from the lightest weight of the highest cost in last row and leaves an item out whenever
+ * previous row reaches the same weight with the same cost, giving the same items as CumulativePacking.
+ */
+public class CapacityIndexedPacking extends AbstractPacking {
+    private static final int UNREACHABLE = -1;
+
+    public CapacityIndexedPacking() {
+        this(PackingLimits.DEFAULT);
+    }
+
+    public CapacityIndexedPacking(PackingLimits limits) {
+        super(limits);
+    }
+
+    /**
+     * Solve Given problem and produce optimal item sequence as list of Triplets.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     * @throws APIException when the table would exceed int indices.
+     */
+    @Override
+    protected List<Triplet> solve(Problem problem) throws APIException {
+        List<Triplet> triplets = this.getRatioOrderedTriplets(problem);
+        List<Triplet> solution = new ArrayList<>();
+        if (triplets.isEmpty())
+            return solution;
+
+        int unit = getWeightUnit(triplets);
+        long cells = (triplets.size() + 1) * ((long) this.getFixedPointCapacity(problem) / unit + 1);
+        if (cells > Integer.MAX_VALUE)
+            throw new APIException(String.format("Invalid problem : capacity table of %d cells is too large", cells));
+        int width = (int) (cells / (triplets.size() + 1));
+        int[] table = this.buildTable(triplets, unit, width);
+
+        int lastRow = triplets.size() * width;
+        int weight = 0;
+        for (int w = 1; w < width; w++)
+            if (table[lastRow + w] > table[lastRow + weight])
+                weight = w;
+        int cost = table[lastRow + weight];
+
+        for (int k = triplets.size(); k > 0; k--) {
+            if (table[(k - 1) * width + weight] == cost)
+                continue;
+            Triplet triplet = triplets.get(k - 1);
+            solution.add(triplet);
+            weight -= triplet.getFixedPointWeight() / unit;
+            cost -= triplet.getCost();
+        }
+        return solution;
+    }
+
+    /**
+     * Fill rows of highest cost per exact weight in units, row k covering first k items.
+     *
+     * @param triplets items in ratio order.
+     * @param unit     weight unit in hundredths.
+     * @param width    number of weights in a row, capacity in units plus one.
+     * @return flat table of items count plus one rows.
+     */
+    private int[] buildTable(List<Triplet> triplets, int unit, int width) {
+        int[] table = new int[(triplets.size() + 1) * width];
+        Arrays.fill(table, 1, width, UNREACHABLE);
+
+        for (int k = 1; k <= triplets.size(); k++) {
+            Triplet triplet = triplets.get(k - 1);
+            int itemWeight = triplet.getFixedPointWeight() / unit;
+            int itemCost = triplet.getCost();
+            int previous = (k - 1) * width;
+            int current = k * width;
+            System.arraycopy(table, previous, table, current, width);
+            for (int w = itemWeight; w < width; w++) {
+                int base = table[previous + w - itemWeight];
+                if (base != UNREACHABLE && base + itemCost > table[current + w])
+                    table[current + w] = base + itemCost;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @param triplets items of a problem, weighing more than zero.
+     * @return greatest common divisor of item weights in hundredths, or 1 when there is no item.
+     */
+    static int getWeightUnit(List<Triplet> triplets) {
+        int unit = 0;
+        for (Triplet triplet : triplets) {
+            int a = triplet.getFixedPointWeight();
+            while (a != 0) {
+                int remainder = unit % a;
+                unit = a;
+                a = remainder;
+            }
+        }
+        return Math.max(unit, 1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Concrete class to solve packing problem with a table indexed by cost.
+ * <p>
+ * A single int array holds, for each cost up to a bound, the lowest weight in hundredths of items fitting
+ * capacity and costing exactly that much. Items are added in ratio order, each one updating the array in place from
+ * the highest cost down, and a bit per item and cost records whether the item made that cost lighter. Costs stop at
+ * the fractional bound of filling capacity by ratio, so table size depends on costs and capacity only, weights in
+ * hundredths cost nothing more than whole ones and nothing is allocated per state.
+ * <p>
+ * Optimal cost is the highest one whose weight fits capacity. Backward pass leaves an item out when it did not make
+ * the remaining cost lighter, which is when earlier items reach the same weight and cost, giving the same items
+ * as CumulativePacking.
+ */
+public class CostIndexedPacking extends AbstractPacking {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    public CostIndexedPacking() {
+        this(PackingLimits.DEFAULT);
+    }
+
+    public CostIndexedPacking(PackingLimits limits) {
+        super(limits);
+    }
+
+    /**
+     * Solve Given problem and produce optimal item sequence as list of Triplets.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     */
+    @Override
+    protected List<Triplet> solve(Problem problem) {
+        List<Triplet> triplets = this.getRatioOrderedTriplets(problem);
+        int capacity = this.getFixedPointCapacity(problem);
+        int width = getCostUpperBound(triplets, capacity) + 1;
+        long[] lighter = new long[(int) (((long) triplets.size() * width + 63) >>> 6)];
+        int[] weights = this.buildTable(triplets, capacity, width, lighter);
+
+        int cost = width - 1;
+        while (weights[cost] == UNREACHABLE)
+            cost--;
+
+        List<Triplet> solution = new ArrayList<>();
+        for (int k = triplets.size(); k > 0 && cost > 0; k--) {
+            long bit = (long) (k - 1) * width + cost;
+            if ((lighter[(int) (bit >>> 6)] & (1L << bit)) == 0)
+                continue;
+            Triplet triplet = triplets.get(k - 1);
+            solution.add(triplet);
+            cost -= triplet.getCost();
+        }
+        return solution;
+    }
+
+    /**
+     * Fill lowest weight per exact cost, adding items one at a time in place.
+     *
+     * @param triplets items in ratio order.
+     * @param capacity capacity in hundredths, heavier items sets are left unreachable.
+     * @param width    number of costs, upper bound of cost fitting capacity plus one.
+     * @param lighter  bits set to one where item k made cost c lighter, at index k * width + c.
+     * @return lowest weight in hundredths per cost with all items, UNREACHABLE when no items fitting capacity
+     * cost that much.
+     */
+    private int[] buildTable(List<Triplet> triplets, int capacity, int width, long[] lighter) {
+        int[] weights = new int[width];
+        Arrays.fill(weights, 1, width, UNREACHABLE);
+
+        int reachableCost = 0;
+        for (int k = 0; k < triplets.size(); k++) {
+            Triplet triplet = triplets.get(k);
+            int itemWeight = triplet.getFixedPointWeight();
+            int itemCost = triplet.getCost();
+            long row = (long) k * width;
+            reachableCost = Math.min(reachableCost + itemCost, width - 1);
+            for (int c = reachableCost; c >= itemCost; c--) {
+                int base = weights[c - itemCost];
+                if (base != UNREACHABLE && itemWeight <= capacity - base && base + itemWeight < weights[c]) {
+                    weights[c] = base + itemWeight;
+                    long bit = row + c;
+                    lighter[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+        }
+        return weights;
+    }
+}
@@ -1,29 +1,90 @@
 package com.code.challenge.service;
 
-import com.code.challenge.utility.Util;
+import com.code.challenge.event.FormatSolutionEvent;
+import com.code.challenge.event.SolveProblemEvent;
 import com.code.challenge.exception.APIException;
 import com.code.challenge.model.CumulativeSet;
 import com.code.challenge.model.Problem;
 import com.code.challenge.model.Triplet;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Concrete class to solve packing problem with Cumulative Approach.
+ * An instance keeps no state between solves and can be shared by threads.
  */
-public class CumulativePacking implements Packing {
+public class CumulativePacking extends AbstractPacking {
 
-    Merger merger;
+    private final Reconstruction reconstruction;
+    private final int parallelThreshold;
+    private final boolean boundPruning;
+    private final FrontierListener frontierListener;
+    private final PackingMetrics metrics;
 
+    /**
+     * Limits of PackingLimits.DEFAULT, used unless other limits are given.
+     */
     public static final int MAX_TRIPLET_WEIGHT = 100;
     public static final int MAX_TRIPLET_COST = 100;
     public static final int MAX_TRIPLETS_SIZE_IN_PROBLEM = 15;
 
+    private static final int DEFAULT_SET_CAPACITY = 64;
+
     public CumulativePacking() {
-        this.merger = new Merger();
+        this(Reconstruction.LINKS);
+    }
+
+    public CumulativePacking(Reconstruction reconstruction) {
+        this(reconstruction, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param reconstruction    how optimal items are recovered from cumulative sets.
+     * @param parallelThreshold minimum number of states in a cumulative set to extend and merge it
+     *                          on the common fork-join pool, Integer.MAX_VALUE to always stay on the calling thread.
+     */
+    public CumulativePacking(Reconstruction reconstruction, int parallelThreshold) {
+        this(reconstruction, parallelThreshold, PackingLimits.DEFAULT);
+    }
+
+    public CumulativePacking(PackingLimits limits) {
+        this(Reconstruction.LINKS, Integer.MAX_VALUE, limits);
+    }
+
+    /**
+     * @param reconstruction    how optimal items are recovered from cumulative sets.
+     * @param parallelThreshold minimum number of states in a cumulative set to extend and merge it
+     *                          on the common fork-join pool, Integer.MAX_VALUE to always stay on the calling thread.
+     * @param limits            limits problems are validated against.
+     */
+    public CumulativePacking(Reconstruction reconstruction, int parallelThreshold, PackingLimits limits) {
+        this(reconstruction, parallelThreshold, limits, false, FrontierListener.NONE, PackingMetrics.NONE);
+    }
+
+    /**
+     * @param reconstruction    how optimal items are recovered from cumulative sets.
+     * @param parallelThreshold minimum number of states in a cumulative set to extend and merge it
+     *                          on the common fork-join pool, Integer.MAX_VALUE to always stay on the calling thread.
+     * @param limits            limits problems are validated against.
+     * @param boundPruning      true to remove states of each cumulative set whose ratio bound can not reach the
+     *                          best cost found so far, see BoundPruner; solutions are the same.
+     * @param frontierListener  listener told the size of each cumulative set and how many states were pruned,
+     *                          FrontierListener.NONE for none.
+     * @param metrics           metrics told set sizes, dominated and pruned states, pass and format times,
+     *                          PackingMetrics.NONE for none; returned by getMetrics so writers of solutions such as
+     *                          SolutionWriter time formats too.
+     */
+    public CumulativePacking(Reconstruction reconstruction, int parallelThreshold, PackingLimits limits,
+                             boolean boundPruning, FrontierListener frontierListener, PackingMetrics metrics) {
+        super(limits);
+        if (parallelThreshold < 1)
+            throw new APIException("Invalid parameter: parallel threshold must be positive");
+        this.reconstruction = reconstruction;
+        this.parallelThreshold = parallelThreshold;
+        this.boundPruning = boundPruning;
+        this.frontierListener = frontierListener;
+        this.metrics = metrics;
     }
 
     /**
@@ -33,82 +94,107 @@ public class CumulativePacking implements Packing {
      * @return optimal triplets list
      */
     @Override
-    public List<Triplet> getOptimalTriplets(Problem problem) {
+    protected List<Triplet> solve(Problem problem) {
+
+        SolveProblemEvent event = new SolveProblemEvent();
+        event.begin();
+        int items = problem.getTriplets().size();
+
+        if (reconstruction == Reconstruction.ITEM_SETS) {
+            CumulativeSet lastSet = this.buildLastCumulativeSet(problem);
+            long start = metrics.isEnabled() ? System.nanoTime() : 0;
+            List<Triplet> optimalTriplets = this.findOptimalTripletsInItemSets(problem, lastSet);
+            this.recordBackwardPass(start);
+            commit(event, problem, items, lastSet);
+            return optimalTriplets;
+        }
 
-        this.validateProblem(problem);
         List<CumulativeSet> sets = this.buildCumulativeSets(problem);
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
         List<Triplet> optimalTriplets = this.findOptimalTripletsInCumulativeSets(problem, sets);
+        this.recordBackwardPass(start);
+        commit(event, problem, items, sets.get(sets.size() - 1));
 
         return optimalTriplets;
     }
 
-    /**
-     * Solve Given problem and produce optimal item sequence in a String.
-     *
-     * @param problem Includes package capacity and list of items with their costs and weight.
-     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
-     */
     @Override
-    public String  getOptimalItemIdsInString(Problem problem) {
-        List<Triplet> optimalTriplets = this.getOptimalTriplets(problem);
-        String output = optimalTriplets.stream()
-                .map(Triplet::getId)
-                .map(String::valueOf)
-                .collect(Collectors.joining(", "));
-
-        return Util.defaultIfEmpty(output, "-");
-    }
-
-    /**
-     * Check a problem to have valid cost, weight and right number of items defined.
-     * @param problem Includes package capacity and list of items with their costs and weight.
-     */
-    private void validateProblem(Problem problem) {
-         this.validateTripletCosts(problem);
-         this.validateTripletWeights(problem);
-         this.validateTripletMaxSize(problem);
+    public PackingMetrics getMetrics() {
+        return metrics;
     }
 
     /**
-     * validate right number of items be available in a problem.
-     * @param problem Includes package capacity and list of items with their costs and weight.
+     * Solve given problem with the same forward and backward passes as getOptimalTriplets(Problem), on items, sets
+     * and merger of given context. Problem is not modified and sets are not trimmed, they stay in the context for
+     * the next problem, so once buffers fit the problem shape only the solution list is allocated.
+     * <p>
+     * ITEM_SETS reconstruction solves without the context. Bound pruning and merges on the fork-join pool still
+     * allocate their own buffers per problem.
+     *
+     * @param problem includes package capacity and list of items with their costs and weight, not modified.
+     * @param context buffers owned by the calling thread.
+     * @return optimal triplets list
+     * @throws APIException when problem exceeds limits of this packing.
      */
-    private void validateTripletMaxSize(Problem problem) {
-        if (problem.getTriplets().size() > MAX_TRIPLETS_SIZE_IN_PROBLEM)
-            throw new APIException(
-                    String.format("Invalid problem : Max items possible is %d", MAX_TRIPLETS_SIZE_IN_PROBLEM));
+    @Override
+    public List<Triplet> getOptimalTriplets(Problem problem, SolverContext context) throws APIException {
+        if (reconstruction == Reconstruction.ITEM_SETS)
+            return this.getOptimalTriplets(problem);
+        this.validateProblem(problem);
 
+        SolveProblemEvent event = new SolveProblemEvent();
+        event.begin();
+        int capacity = this.getFixedPointCapacity(problem);
+        List<Triplet> triplets = context.prepareTriplets(problem.getTriplets(), capacity);
+        List<CumulativeSet> sets = this.buildCumulativeSets(triplets, capacity, context);
+
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        CumulativeSet lastSet = sets.get(sets.size() - 1);
+        List<Triplet> optimalTriplets = reconstruction == Reconstruction.LINKS
+                ? followLinks(triplets, sets, lastSet.size() - 1)
+                : this.scanCumulativeSets(triplets, sets);
+        this.recordBackwardPass(start);
+        commit(event, problem, problem.getTriplets().size(), lastSet);
+        return optimalTriplets;
     }
 
     /**
-     * Validate all items weight values to be in valid range.
-     * @param problem Includes package capacity and list of items with their costs and weight.
+     * Commit a solve event when Flight Recorder wants it.
+     *
+     * @param event   event begun when solving started.
+     * @param problem solved problem.
+     * @param items   number of items of the problem given to solve.
+     * @param lastSet cumulative set of the last stage.
      */
-    private void validateTripletWeights(Problem problem) {
-        boolean anyInvalidWeight =  problem.getTriplets()
-                .stream()
-                .map(Triplet::getWeight)
-                .anyMatch(weight -> weight > MAX_TRIPLET_WEIGHT || weight <= 0.0f);
-
-        if (anyInvalidWeight)
-            throw new APIException(
-                    String.format("Invalid problem : Max item weight possible is %d", MAX_TRIPLET_WEIGHT));
-
+    private static void commit(SolveProblemEvent event, Problem problem, int items, CumulativeSet lastSet) {
+        if (event.shouldCommit()) {
+            event.setItems(items);
+            event.setCapacity(problem.getMaxCapacity());
+            event.setFrontierSize(lastSet.size());
+            event.commit();
+        }
     }
 
     /**
-     * Validate all items cost values to be in valid range.
-     * @param problem Includes package capacity and list of items with their costs and weight.
+     * Format optimal items, telling metrics and Flight Recorder the time it took.
+     *
+     * @param triplets optimal triplets list.
+     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
      */
-    private void validateTripletCosts(Problem problem) {
-        boolean anyInvalidCost = problem.getTriplets()
-                .stream()
-                .map(Triplet::getCost)
-                .anyMatch(cost -> cost > MAX_TRIPLET_COST || cost <= 0);
-
-        if (anyInvalidCost)
-            throw new APIException(
-                    String.format("Invalid problem : Max item cost possible is %d", MAX_TRIPLET_COST));
+    @Override
+    protected String formatItemIds(List<Triplet> triplets) {
+        FormatSolutionEvent event = new FormatSolutionEvent();
+        event.begin();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        String output = super.formatItemIds(triplets);
+        if (metrics.isEnabled())
+            metrics.onFormat(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.setItems(triplets.size());
+            event.commit();
+        }
+        return output;
     }
 
     /**
@@ -127,24 +213,181 @@ public class CumulativePacking implements Packing {
      * @param problem Includes package capacity and list of items with their costs and weight.
      * @return
      */
-    private List<CumulativeSet> buildCumulativeSets(Problem problem) {
+    List<CumulativeSet> buildCumulativeSets(Problem problem) {
+        return this.buildCumulativeSets(problem, reconstruction == Reconstruction.LINKS, boundPruning);
+    }
 
-        problem.getTriplets().add(new Triplet(0, 0, 0));
-        this.sortProblemTripletsWithRatio(problem);
-        List<CumulativeSet> sets = this.getInitializedCumulativeSets(problem);
-        this.removeOverCapacityTriplets(problem);
+    /**
+     * Create Cumulative Sets from triplet Items in a Problem, see buildCumulativeSets(Problem).
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @param linked  true to record predecessor links of states.
+     * @param pruned  true to remove states bounded below best cost found so far, false to keep every state
+     *                fitting capacity so the sets also answer any lower capacity.
+     * @return cumulative sets of all stages, starting with the sentinel set.
+     */
+    private List<CumulativeSet> buildCumulativeSets(Problem problem, boolean linked, boolean pruned) {
 
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        this.prepareProblemTriplets(problem);
+        List<CumulativeSet> sets = this.getInitializedCumulativeSets(problem);
 
+        Merger merger = new Merger();
+        BoundPruner pruner = pruned ? this.createPruner(problem) : null;
+        CumulativeSet extendedSet = new CumulativeSet(sets.get(0).getMaximumCapacity());
         for (int i = 1; i < problem.getTriplets().size(); i++) {
             CumulativeSet currentSet = sets.get(i - 1);
-            List<Triplet> extendedSet = this.extend(currentSet, problem.getTriplets().get(i));
-            List<Triplet> mergedTriplets = merger.merge(currentSet.getTriplets(), extendedSet);
-            sets.add(new CumulativeSet(mergedTriplets, currentSet.getMaximumCapacity()));
+            CumulativeSet mergedSet = new CumulativeSet(currentSet.getMaximumCapacity(),
+                    currentSet.size() << 1, linked);
+            this.extendAndMerge(currentSet, problem.getTriplets().get(i), i, merger, extendedSet, mergedSet);
+            this.prune(pruner, mergedSet, i);
+            mergedSet.trimToSize();
+            sets.add(mergedSet);
         }
 
+        if (metrics.isEnabled())
+            metrics.onForwardPass(System.nanoTime() - start, sets.size() - 1,
+                    sets.stream().mapToInt(CumulativeSet::size).max().orElse(0));
         return sets;
     }
 
+    /**
+     * Create Cumulative Sets of prepared items in sets of given context, see buildCumulativeSets(Problem).
+     *
+     * @param triplets items in stage order, sentinel at stage 0.
+     * @param capacity capacity in hundredths.
+     * @param context  context providing sets, extended set and merger.
+     * @return cumulative sets of all stages, starting with the sentinel set, owned by the context.
+     */
+    private List<CumulativeSet> buildCumulativeSets(List<Triplet> triplets, int capacity, SolverContext context) {
+
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        boolean linked = reconstruction == Reconstruction.LINKS;
+        List<CumulativeSet> sets = context.clearSets();
+        context.addSet(capacity, linked).add(0, 0);
+
+        Merger merger = context.getMerger();
+        BoundPruner pruner = boundPruning ? new BoundPruner(triplets, capacity) : null;
+        CumulativeSet extendedSet = context.getExtendedSet(capacity);
+        int largestSize = 1;
+        for (int i = 1; i < triplets.size(); i++) {
+            CumulativeSet currentSet = sets.get(i - 1);
+            CumulativeSet mergedSet = context.addSet(capacity, linked);
+            this.extendAndMerge(currentSet, triplets.get(i), i, merger, extendedSet, mergedSet);
+            this.prune(pruner, mergedSet, i);
+            largestSize = Math.max(largestSize, mergedSet.size());
+        }
+
+        if (metrics.isEnabled())
+            metrics.onForwardPass(System.nanoTime() - start, sets.size() - 1, largestSize);
+        return sets;
+    }
+
+    /**
+     * Run the same forward pass as buildCumulativeSets keeping only the set of the current stage.
+     * Each state carries the set of items taken to reach it, so no previous set is needed
+     * by the backward pass and memory is bounded by the largest cumulative set.
+     * <p>
+     * Two sets are swapped between stages and one more is reused by every extend operation.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return cumulative set of the last stage with item sets.
+     */
+    CumulativeSet buildLastCumulativeSet(Problem problem) {
+
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        this.prepareProblemTriplets(problem);
+        int stages = problem.getTriplets().size() - 1;
+        int capacity = this.getFixedPointCapacity(problem);
+
+        CumulativeSet currentSet = new CumulativeSet(capacity, DEFAULT_SET_CAPACITY, false, stages);
+        CumulativeSet mergedSet = new CumulativeSet(capacity, DEFAULT_SET_CAPACITY, false, stages);
+        CumulativeSet extendedSet = new CumulativeSet(capacity, DEFAULT_SET_CAPACITY, false, stages);
+        Triplet sentinel = problem.getTriplets().get(0);
+        currentSet.add(sentinel.getFixedPointWeight(), sentinel.getCost());
+
+        Merger merger = new Merger();
+        BoundPruner pruner = this.createPruner(problem);
+        int largestSize = currentSet.size();
+        for (int i = 1; i <= stages; i++) {
+            mergedSet.clear();
+            this.extendAndMerge(currentSet, problem.getTriplets().get(i), i, merger, extendedSet, mergedSet);
+            this.prune(pruner, mergedSet, i);
+            largestSize = Math.max(largestSize, mergedSet.size());
+
+            CumulativeSet previousSet = currentSet;
+            currentSet = mergedSet;
+            mergedSet = previousSet;
+        }
+
+        if (metrics.isEnabled())
+            metrics.onForwardPass(System.nanoTime() - start, stages, largestSize);
+        return currentSet;
+    }
+
+    /**
+     * Add sentinel triplet, sort triplets by ratio and drop the ones which can never fit.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     */
+    private void prepareProblemTriplets(Problem problem) {
+        problem.getTriplets().add(Triplet.withFixedPointWeight(0, 0, 0));
+        this.sortProblemTripletsWithRatio(problem);
+        this.removeOverCapacityTriplets(problem);
+    }
+
+    /**
+     * @param problem prepared problem, items in stage order.
+     * @return pruner of given problem, null when bound pruning is off.
+     */
+    private BoundPruner createPruner(Problem problem) {
+        return boundPruning ? new BoundPruner(problem.getTriplets(), this.getFixedPointCapacity(problem)) : null;
+    }
+
+    /**
+     * Build the whole cost and weight trade off of a problem in one forward pass, see ParetoFrontier.
+     *
+     * @param problem includes package capacity and list of items with their costs and weight, not modified.
+     * @return frontier of the items of the problem up to its capacity.
+     * @throws APIException when the problem exceeds limits of this packing.
+     */
+    public ParetoFrontier buildParetoFrontier(Problem problem) throws APIException {
+        return this.buildParetoFrontier(problem.getTriplets(), problem.getMaxCapacity());
+    }
+
+    /**
+     * Build the cumulative sets of given items once for many capacities. Sets are built for the highest
+     * capacity without bound pruning, so states of the last set up to any lower capacity are those a solve with
+     * that capacity keeps, see ParetoFrontier.
+     *
+     * @param triplets    items, not modified.
+     * @param maxCapacity highest capacity to answer.
+     * @return frontier answering capacities up to given one.
+     * @throws APIException when items exceed limits of this packing.
+     */
+    public ParetoFrontier buildParetoFrontier(List<Triplet> triplets, int maxCapacity) throws APIException {
+        Problem problem = new Problem(maxCapacity, new ArrayList<>(triplets));
+        this.validateProblem(problem);
+        List<CumulativeSet> sets = this.buildCumulativeSets(problem, true, false);
+        return new ParetoFrontier(problem.getTriplets(), sets, maxCapacity);
+    }
+
+    /**
+     * Remove states of a merged set which can not lead to an optimal solution, when bound pruning is on,
+     * and tell frontier listener and metrics the size of the set.
+     *
+     * @param pruner pruner of the problem, null when bound pruning is off.
+     * @param set    merged set of given stage.
+     * @param stage  stage number, starting from 1 for the first item.
+     */
+    private void prune(BoundPruner pruner, CumulativeSet set, int stage) {
+        int mergedSize = set.size();
+        int prunedSize = pruner == null ? 0 : pruner.prune(set, stage);
+        frontierListener.onStage(stage, mergedSize, prunedSize);
+        if (metrics.isEnabled())
+            metrics.onStage(stage, mergedSize, prunedSize);
+    }
+
     /**
      * finds optimal triplet items which results in a maximized packages gain cost.
      *
@@ -152,31 +395,93 @@ public class CumulativePacking implements Packing {
      * @param sets    list of cumulative sets resulted from  buildCumulativeSets method.
      * @return Selected optimal triplet items can be chosen to maximise profit.
      */
-    private List<Triplet> findOptimalTripletsInCumulativeSets(Problem problem, List<CumulativeSet> sets) {
+    List<Triplet> findOptimalTripletsInCumulativeSets(Problem problem, List<CumulativeSet> sets) {
+        if (reconstruction == Reconstruction.LINKS)
+            return this.followLinksInCumulativeSets(problem, sets);
+        return this.scanCumulativeSets(problem.getTriplets(), sets);
+    }
+
+    /**
+     * Backward pass looking up cumulative states in every previous set.
+     *
+     * @param triplets items in stage order, sentinel at stage 0.
+     * @param sets     list of cumulative sets resulted from  buildCumulativeSets method.
+     * @return Selected optimal triplet items can be chosen to maximise profit.
+     */
+    private List<Triplet> scanCumulativeSets(List<Triplet> triplets, List<CumulativeSet> sets) {
         int lastSetIndex = sets.size() - 1;    // Start at last set
-        int lastSetItem = sets.get(lastSetIndex).getTriplets().size() - 1;    // Get last item
-        Triplet lastItem = sets.get(lastSetIndex).getTriplets().get(lastSetItem);
+        CumulativeSet lastSet = sets.get(lastSetIndex);
+        int lastSetItem = lastSet.size() - 1;    // Get last item
         List<Triplet> solution = new ArrayList<>();
 
-        int cumulativeCost = lastItem.getCost();
-        float cumulativeWeight = lastItem.getWeight();
-        Triplet prevTriplet = lastItem;
+        int cumulativeCost = lastSet.getCost(lastSetItem);
+        int cumulativeWeight = lastSet.getWeight(lastSetItem);
 
         for (int i = lastSetIndex - 1; i >= 0; i--) {
             int prevSetIndex = i + 1;
             CumulativeSet currSet = sets.get(i);
-            boolean found = currSet.exists(prevTriplet);
+            boolean found = currSet.exists(cumulativeWeight, cumulativeCost);
             // Pair (cum wgt, cum profit) not found in preceding set; item is in solution
             if (!found) {
-                solution.add(problem.getTriplets().get(prevSetIndex));
-                cumulativeCost -= problem.getTriplets().get(prevSetIndex).getCost();
-                cumulativeWeight = Util.round(cumulativeWeight - problem.getTriplets().get(prevSetIndex).getWeight());
-                prevTriplet = new Triplet(cumulativeWeight, cumulativeCost);
+                solution.add(triplets.get(prevSetIndex));
+                cumulativeCost -= triplets.get(prevSetIndex).getCost();
+                cumulativeWeight -= triplets.get(prevSetIndex).getFixedPointWeight();
             }    // else keep searching for prev item in the next set
         }
         return solution;
     }
 
+    /**
+     * Backward pass walking predecessor links recorded in linked cumulative sets,
+     * no state is searched for and no weight subtracted.
+     *
+     * @param problem includes package capacity and list of items with their costs and weight.
+     * @param sets    list of linked cumulative sets resulted from  buildCumulativeSets method.
+     * @return Selected optimal triplet items can be chosen to maximise profit.
+     */
+    private List<Triplet> followLinksInCumulativeSets(Problem problem, List<CumulativeSet> sets) {
+        int stateIndex = sets.get(sets.size() - 1).size() - 1;    // Optimal state is the last one
+        return followLinks(problem.getTriplets(), sets, stateIndex);
+    }
+
+    /**
+     * Walk predecessor links from a state of the last set back to the sentinel set.
+     *
+     * @param triplets   items in stage order, sentinel at stage 0.
+     * @param sets       linked cumulative sets of all stages.
+     * @param stateIndex index of the state to start from in the last set.
+     * @return items taken to reach the state, items of later stages first.
+     */
+    static List<Triplet> followLinks(List<Triplet> triplets, List<CumulativeSet> sets, int stateIndex) {
+        List<Triplet> solution = new ArrayList<>();
+
+        for (int i = sets.size() - 1; i > 0; i--) {
+            CumulativeSet currSet = sets.get(i);
+            if (currSet.isTaken(stateIndex))
+                solution.add(triplets.get(i));
+            stateIndex = currSet.getPredecessor(stateIndex);
+        }
+        return solution;
+    }
+
+    /**
+     * Backward pass reading the item set of the optimal state in last cumulative set.
+     *
+     * @param problem includes package capacity and list of items with their costs and weight.
+     * @param lastSet cumulative set with item sets resulted from buildLastCumulativeSet method.
+     * @return Selected optimal triplet items can be chosen to maximise profit.
+     */
+    private List<Triplet> findOptimalTripletsInItemSets(Problem problem, CumulativeSet lastSet) {
+        int stateIndex = lastSet.size() - 1;    // Optimal state is the last one
+        List<Triplet> solution = new ArrayList<>();
+
+        for (int i = problem.getTriplets().size() - 1; i > 0; i--) {
+            if (lastSet.isInItemSet(stateIndex, i))
+                solution.add(problem.getTriplets().get(i));
+        }
+        return solution;
+    }
+
     /**
      * Sort Triplet items in a problem based on ratio  cost/weight and the reverse the list.
      * this way most valuable package with less weight would be in the head of the list.
@@ -184,7 +489,7 @@ public class CumulativePacking implements Packing {
      * @param problem includes package capacity and list of items with their costs and weight.
      */
     private void sortProblemTripletsWithRatio(Problem problem) {
-        problem.getTriplets().sort(Comparator.comparing(Triplet::getRatio).reversed());
+        problem.getTriplets().sort(RATIO_ORDER);
     }
 
     /**
@@ -196,8 +501,9 @@ public class CumulativePacking implements Packing {
     private List<CumulativeSet> getInitializedCumulativeSets(Problem problem) {
         List<CumulativeSet> sets = new ArrayList<>();
 
-        CumulativeSet cumulativeSet = new CumulativeSet(problem.getMaxCapacity());
-        cumulativeSet.getTriplets().add(problem.getTriplets().get(0));
+        CumulativeSet cumulativeSet = new CumulativeSet(this.getFixedPointCapacity(problem));
+        Triplet sentinel = problem.getTriplets().get(0);
+        cumulativeSet.add(sentinel.getFixedPointWeight(), sentinel.getCost());
         sets.add(cumulativeSet);
         return sets;
     }
@@ -208,232 +514,101 @@ public class CumulativePacking implements Packing {
      * @param problem includes package capacity and list of items with their costs and weight.
      */
     private void removeOverCapacityTriplets(Problem problem) {
-        problem.getTriplets().removeIf(t -> t.getWeight() > problem.getMaxCapacity());
+        int capacity = this.getFixedPointCapacity(problem);
+        problem.getTriplets().removeIf(t -> t.getFixedPointWeight() > capacity);
     }
 
     /**
-     * add Given A triplet, which represents an item in the package, to a cumulative set
-     * to include the impact of deciding to choose an item.
-     * The result sequence would be used to build new Cumulative Set which includes
-     * the decision of including given triplet item.
+     * Extend given set with given triplet and merge both into result set, on the common fork-join pool
+     * when the set has at least parallel threshold states, otherwise with given merger and extended set.
      *
-     * @param set     a set generated including all items before this one.
-     * @param triplet represents an item in a package.
-     * @return extended list including given item.
+     * @param set      a set generated including all items before this one.
+     * @param triplet  represents an item in a package.
+     * @param stage    stage number of the item, starting from 1 for the first item.
+     * @param merger   merger of the calling thread.
+     * @param extended reusable set for the extended states of the calling thread.
+     * @param result   empty set to append merged states to.
      */
-    private List<Triplet> extend(CumulativeSet set, Triplet triplet) {
-        List<Triplet> extendedTriplets = set.getTriplets().stream()
-                .map(t -> this.add(t, triplet))
-                .filter(t -> this.validCapacity(t, set.getMaximumCapacity()))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return extendedTriplets;
+    private void extendAndMerge(CumulativeSet set, Triplet triplet, int stage,
+                                Merger merger, CumulativeSet extended, CumulativeSet result) {
+        if (set.size() >= parallelThreshold) {
+            new ParallelMerger().extendAndMerge(set, triplet, stage, result);
+            if (metrics.isEnabled())
+                metrics.onMerge(stage, set.size() + countFitting(set, set.getMaximumCapacity() - triplet.getFixedPointWeight()),
+                        result.size());
+        } else {
+            this.extend(set, triplet, stage, extended);
+            merger.merge(set, extended, result);
+            if (metrics.isEnabled())
+                metrics.onMerge(stage, set.size() + extended.size(), result.size());
+        }
     }
 
     /**
-     * Validate items wights to be under maximum capacity defined in a problem
-     *
-     * @param triplet         represents an item in a package.
-     * @param maximumCapacity maximum capacity a package can take,defined in a problem.
-     * @return true if item weight is less than or equal maximum capacty,otherwise false.
+     * @param set    set sorted by weight.
+     * @param weight weight in hundredths.
+     * @return number of states of the set not heavier than given weight, those an item extends.
      */
-    private boolean validCapacity(Triplet triplet, int maximumCapacity) {
-        if (triplet.getWeight() <= maximumCapacity)
-            return true;
-
-        return false;
+    private static int countFitting(CumulativeSet set, int weight) {
+        int low = 0;
+        int high = set.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (set.getWeight(middle) <= weight)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
     }
 
     /**
-     * add two triplets costs and weights and return new triplet item.
+     * Tell metrics the time of a backward pass.
      *
-     * @param triplet1 represents an item in a package.
-     * @param triplet2 represents an item in a package.
-     * @return new triplet result from adding given two triplets.
+     * @param start System.nanoTime() when the pass started, ignored when metrics are off.
      */
-    private Triplet add(Triplet triplet1, Triplet triplet2) {
-        int cumulativeCost = triplet1.getCost() + triplet2.getCost();
-        float cumulativeWeight = triplet1.getWeight() + triplet2.getWeight();
-
-        return new Triplet(triplet2.getId(), cumulativeWeight, cumulativeCost);
+    private void recordBackwardPass(long start) {
+        if (metrics.isEnabled())
+            metrics.onBackwardPass(System.nanoTime() - start);
     }
 
     /**
-     * Merge a List of Triplets from a Cumulative set with a List extended by
-     * choosing a triplet item using dominance pruning mechanism.
+     * add Given A triplet, which represents an item in the package, to a cumulative set
+     * to include the impact of deciding to choose an item.
+     * The result sequence would be used to build new Cumulative Set which includes
+     * the decision of including given triplet item.
+     * <p>
+     * States of the set are sorted by weight, so extension stops at the first state
+     * exceeding maximum capacity.
+     *
+     * @param set      a set generated including all items before this one.
+     * @param triplet  represents an item in a package.
+     * @param stage    stage number of the item, starting from 1 for the first item.
+     * @param extended reusable set cleared and filled with the extended states.
      */
-    private class Merger {
-
-        private int firstPointer;
-        private int firstMaxIndex;
-        private int firstLastItemCost;
-
-        private int secondPointer;
-        private int secondMaxIndex;
-        private int secondLastItemCost;
-        List<Triplet> firstTriplets;
-        List<Triplet> secondTriplets;
-
-        /**
-         * Initializes pointers, max index and last item cost for first and second triplet items.
-         *
-         * @param firstTriplets represents a list of items in a package.
-         * @param secondTriplets represents a list of items in a package.
-         */
-        public void initialize(List<Triplet> firstTriplets, List<Triplet> secondTriplets) {
-
-            firstPointer = 0;
-            firstMaxIndex = firstTriplets.size() - 1;
-            firstLastItemCost = firstTriplets.get(firstMaxIndex).getCost();
-
-            secondPointer = 0;
-            secondMaxIndex = secondTriplets.size() - 1;
-            secondLastItemCost = secondTriplets.get(secondMaxIndex).getCost();
-
-            this.firstTriplets = firstTriplets;
-            this.secondTriplets = secondTriplets;
-        }
-
-        /**
-         * In merge operation Items would be merged in a ascending order of weights with domination:
-         * <p>
-         * Domination is when one item has less weight and higher cost comparing to the other.
-         * <p>
-         * cases:
-         * if item1 weight < other: write item1 to result and move second pointer until can not be dominated.
-         * else if weights are equal move pointer for item dominated.
-         * else if item1 weight > other: same logic holds for item2 in the first case.
-         *
-         * @param firstTriplets  calculated cumulative triplet to include all items in the previous rounds.
-         * @param secondTriplets an extended triplets in which one specific item added contributing to total weights/cost.
-         * @return new merged list of triplet.
-         */
-        public List<Triplet> merge(List<Triplet> firstTriplets, List<Triplet> secondTriplets) {
-
-            this.initialize(firstTriplets, secondTriplets);
-            List<Triplet> result = new ArrayList<>();
-
-            while (arePointersNotTraversedCompletely()) {
-                if (areBothPointersInRange()) {
-                    Triplet firstTriplet = this.firstTriplets.get(firstPointer);
-                    Triplet secondTriplet = this.secondTriplets.get(secondPointer);
-
-                    if (firstTriplet.getWeight() < secondTriplet.getWeight()) {
-                        result.add(firstTriplet);    // Add item; can't be dominated by other item
-                        firstPointer++;
-                        moveSecondPointerUntilNotDominated(firstTriplet, secondTriplet);
-
-                    } else if (firstTriplet.getWeight() == secondTriplet.getWeight()) {
-                        moveDominatedPointerInCaseEqualWeights(firstTriplet, secondTriplet);
-
-                    } else {
-                        result.add(secondTriplet);    //  Add other item, can't be dominated by item
-                        secondPointer++;
-                        moveFirstPointerInCaseEqualWeights(firstTriplet, secondTriplet);
-                    }
-                } else if (firstPointer > firstMaxIndex) {    // Only other items left to consider
-                    addSecondTripletToResultIfNotDominated(result);
-                } else {    // indexOther > maxIndexOther. Only items left to consider
-                    addFirstTripletToResultIfNotDominated(result);
-                }
-
-            }
-            return result;
-        }
-
-        /**
-         * Logic holds for the first case in merge operation:
-         * if item1 weight < other: write item1 to result and move second pointer until can not be dominated.
-         *
-         * @param result result set to add item when possible.
-         */
-        private void addFirstTripletToResultIfNotDominated(List<Triplet> result) {
-            while (firstPointer <= firstMaxIndex) {
-                Triplet firstTriplet = firstTriplets.get(firstPointer);
-                if (firstTriplet.getCost() > secondLastItemCost)
-                    result.add(firstTriplet);
-                firstPointer++;
-            }
-        }
-
-        /**
-         * Logic holds for the third case in merge operation:
-         * if item1 weight > other: write item2 to result and move first pointer until can not be dominated.
-         *
-         * @param result result set to add item when possible.
-         */
-        private void addSecondTripletToResultIfNotDominated(List<Triplet> result) {
-            while (secondPointer <= secondMaxIndex) {
-                Triplet secondTriplet = secondTriplets.get(secondPointer);
-                if (secondTriplet.getCost() > firstLastItemCost)
-                    result.add(secondTriplet);
-                secondPointer++;
-            }
-        }
-
-        /**
-         * Move First Pointer until not dominated by second triplet.
-         *
-         * @param firstTriplet represents a cumulative triplet.
-         * @param secondTriplet represents a cumulative triplet.
-         */
-        private void moveFirstPointerInCaseEqualWeights(Triplet firstTriplet, Triplet secondTriplet) {
-            while (firstTriplet.getCost() < secondTriplet.getCost() && firstPointer <= firstMaxIndex) {    // item dominated; skip it
-                if (firstPointer == firstMaxIndex) {
-                    ++firstPointer;
-                    break;
-                }
-                firstTriplet = firstTriplets.get(++firstPointer);
-            }
-        }
-
-        /**
-         * Logic holds for the second case in merge operation:
-         * if weights are equal move pointer for item dominated. no item would add to result as
-         * any of them could be dominated in the next round.
-         *
-         * @param thisTriplet represents a cumulative triplet.
-         * @param secondTriplet represents a cumulative triplet.
-         */
-        private void moveDominatedPointerInCaseEqualWeights(Triplet thisTriplet, Triplet secondTriplet) {
-            if (thisTriplet.getCost() >= secondTriplet.getCost())    // Other item dominated
-                secondPointer++;
-            else
-                firstPointer++;                            // Item dominated
-        }
-
-        /**
-         * Move Second Pointer until not dominated by second triplet.
-         *
-         * @param firstTriplet represents a cumulative triplet.
-         * @param secondTriplet represents a cumulative triplet.
-         */
-        private void moveSecondPointerUntilNotDominated(Triplet firstTriplet, Triplet secondTriplet) {
-            while (secondTriplet.getCost() < firstTriplet.getCost() && secondPointer <= secondMaxIndex) {    // Other item dominated; skip it
-                if (secondPointer == secondMaxIndex) {
-                    ++secondPointer;
-                    break;
-                }
-                secondTriplet = secondTriplets.get(++secondPointer);
-            }
+    private void extend(CumulativeSet set, Triplet triplet, int stage, CumulativeSet extended) {
+        extended.clear();
+        int weight = triplet.getFixedPointWeight();
+        int remainingCapacity = set.getMaximumCapacity() - weight;
+        for (int i = 0; i < set.size(); i++) {
+            if (!this.validCapacity(set.getWeight(i), remainingCapacity))
+                break;
+            extended.addExtension(set, i, set.getWeight(i) + weight, set.getCost(i) + triplet.getCost(), stage);
         }
+    }
 
-        /**
-         * Check if all items in both triplet lists are traversed.
-         *
-         * @return true if all items traversed, otherwise false.
-         */
-        private boolean arePointersNotTraversedCompletely() {
-            return firstPointer <= firstMaxIndex || secondPointer <= secondMaxIndex;
-        }
+    /**
+     * Validate items wights to be under maximum capacity defined in a problem
+     *
+     * @param weight          cumulative weight of items in a package in hundredths.
+     * @param maximumCapacity maximum capacity a package can take in hundredths.
+     * @return true if item weight is less than or equal maximum capacty,otherwise false.
+     */
+    private boolean validCapacity(int weight, int maximumCapacity) {
+        if (weight <= maximumCapacity)
+            return true;
 
-        /**
-         * Check if both lists not traversed completely.
-         *
-         * @return false if any of the lists traversed, otherwise true.
-         */
-        private boolean areBothPointersInRange() {
-            return firstPointer <= firstMaxIndex && secondPointer <= secondMaxIndex;
-        }
+        return false;
     }
 
 }
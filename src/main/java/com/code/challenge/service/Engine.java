@@ -0,0 +1,85 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+
+/**
+ * Packing engines to select by name. All of them return the same items for a problem, they differ in speed and memory.
+ */
+public enum Engine {
+    /**
+     * Dominance pruned cumulative sets, see CumulativePacking.
+     */
+    CUMULATIVE {
+        @Override
+        public AbstractPacking create(PackingLimits limits) {
+            return new CumulativePacking(limits);
+        }
+    },
+    /**
+     * Highest cost per exact weight, for small capacities in weight units.
+     */
+    CAPACITY_INDEXED {
+        @Override
+        public AbstractPacking create(PackingLimits limits) {
+            return new CapacityIndexedPacking(limits);
+        }
+    },
+    /**
+     * Lowest weight per exact cost, for few items of small costs.
+     */
+    COST_INDEXED {
+        @Override
+        public AbstractPacking create(PackingLimits limits) {
+            return new CostIndexedPacking(limits);
+        }
+    },
+    /**
+     * Depth first search cut by ratio bound, for many items and large capacities.
+     */
+    BRANCH_AND_BOUND {
+        @Override
+        public AbstractPacking create(PackingLimits limits) {
+            return new BranchAndBoundPacking(limits);
+        }
+    },
+    /**
+     * Enumeration of both halves of items, for a few tens of items.
+     */
+    MEET_IN_THE_MIDDLE {
+        @Override
+        public AbstractPacking create(PackingLimits limits) {
+            return new MeetInTheMiddlePacking(limits);
+        }
+    },
+    /**
+     * Engine selected per problem, see AdaptivePacking.
+     */
+    ADAPTIVE {
+        @Override
+        public AbstractPacking create(PackingLimits limits) {
+            return new AdaptivePacking(limits);
+        }
+    };
+
+    /**
+     * Create a packing of this engine.
+     *
+     * @param limits limits of problems to solve.
+     * @return a new packing.
+     * @throws APIException when the engine does not support given limits.
+     */
+    public abstract AbstractPacking create(PackingLimits limits) throws APIException;
+
+    /**
+     * @param name name of an engine.
+     * @return engine of given name.
+     * @throws APIException when there is no engine of given name.
+     */
+    public static Engine of(String name) throws APIException {
+        try {
+            return Engine.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new APIException(String.format("Invalid parameter: unknown engine %s", name), e);
+        }
+    }
+}
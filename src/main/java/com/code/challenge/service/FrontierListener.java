@@ -0,0 +1,21 @@
+package com.code.challenge.service;
+
+/**
+ * Listener told the size of each cumulative set built by the forward pass of CumulativePacking.
+ * Called from the solving thread, so a listener shared by threads has to be thread safe.
+ */
+@FunctionalInterface
+public interface FrontierListener {
+    /**
+     * Listener ignoring all stages.
+     */
+    FrontierListener NONE = (stage, mergedSize, prunedSize) -> {
+    };
+
+    /**
+     * @param stage      stage number, starting from 1 for the first item.
+     * @param mergedSize number of states merged in the cumulative set of the stage.
+     * @param prunedSize number of those states removed by bound pruning, 0 when pruning is off.
+     */
+    void onStage(int stage, int mergedSize, int prunedSize);
+}
@@ -0,0 +1,69 @@
+package com.code.challenge.service;
+
+import java.util.Arrays;
+
+/**
+ * FrontierListener summing sizes of cumulative sets per stage over all solved problems,
+ * to tell how much bound pruning shrinks them.
+ */
+public class FrontierReport implements FrontierListener {
+    private long[] mergedSizes = new long[16];
+    private long[] prunedSizes = new long[16];
+    private long[] counts = new long[16];
+    private int stages;
+
+    @Override
+    public synchronized void onStage(int stage, int mergedSize, int prunedSize) {
+        if (stage >= counts.length) {
+            int length = Math.max(counts.length << 1, stage + 1);
+            mergedSizes = Arrays.copyOf(mergedSizes, length);
+            prunedSizes = Arrays.copyOf(prunedSizes, length);
+            counts = Arrays.copyOf(counts, length);
+        }
+        mergedSizes[stage] += mergedSize;
+        prunedSizes[stage] += prunedSize;
+        counts[stage]++;
+        stages = Math.max(stages, stage + 1);
+    }
+
+    /**
+     * @return number of stages reported, one more than the highest stage number.
+     */
+    public synchronized int getStages() {
+        return stages;
+    }
+
+    /**
+     * @param stage stage number, starting from 1 for the first item.
+     * @return mean number of states merged at given stage, 0 when no problem reached it.
+     */
+    public synchronized double getMeanMergedSize(int stage) {
+        return stage < stages && counts[stage] > 0 ? (double) mergedSizes[stage] / counts[stage] : 0;
+    }
+
+    /**
+     * @param stage stage number, starting from 1 for the first item.
+     * @return mean number of states kept after pruning at given stage, 0 when no problem reached it.
+     */
+    public synchronized double getMeanKeptSize(int stage) {
+        return stage < stages && counts[stage] > 0 ? (double) (mergedSizes[stage] - prunedSizes[stage]) / counts[stage] : 0;
+    }
+
+    /**
+     * @return one line per stage with mean merged and kept states and the share pruned.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder("stage merged kept pruned%");
+        for (int stage = 1; stage < stages; stage++) {
+            if (counts[stage] == 0)
+                continue;
+            double merged = this.getMeanMergedSize(stage);
+            double kept = this.getMeanKeptSize(stage);
+            report.append(System.lineSeparator())
+                    .append(String.format("%d %.1f %.1f %.1f", stage, merged, kept,
+                            merged == 0 ? 0 : 100 * (merged - kept) / merged));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.code.challenge.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of non negative long values, such as nanoseconds or numbers of states, in power of two
+ * buckets. Recording is a few atomic adds with no allocation; percentiles are read as the upper bound of the bucket
+ * holding them, so they are exact within a factor of two.
+ */
+public class Histogram implements HistogramMBean {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value value to record, negative values are recorded as 0.
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.increment();
+        sum.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+        }
+    }
+
+    /**
+     * Forget all recorded values. Values recorded meanwhile may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public double getMean() {
+        long values = count.sum();
+        return values == 0 ? 0 : (double) sum.sum() / values;
+    }
+
+    @Override
+    public long get50thPercentile() {
+        return this.getPercentile(0.5);
+    }
+
+    @Override
+    public long get99thPercentile() {
+        return this.getPercentile(0.99);
+    }
+
+    @Override
+    public long[] getBuckets() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] = buckets.get(i);
+        return counts;
+    }
+
+    /**
+     * @param quantile quantile between 0 and 1.
+     * @return upper bound of the bucket holding given quantile, capped to max, 0 when nothing was recorded.
+     */
+    public long getPercentile(double quantile) {
+        long[] counts = this.getBuckets();
+        long total = 0;
+        for (long bucketCount : counts)
+            total += bucketCount;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0)
+                return Math.min(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1, this.getMax());
+        }
+        return 0;
+    }
+}
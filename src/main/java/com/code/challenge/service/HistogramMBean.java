@@ -0,0 +1,21 @@
+package com.code.challenge.service;
+
+/**
+ * JMX view of a Histogram.
+ */
+public interface HistogramMBean {
+    long getCount();
+
+    long getMax();
+
+    double getMean();
+
+    long get50thPercentile();
+
+    long get99thPercentile();
+
+    /**
+     * @return count of values of bit length i at index i: 0 at index 0, 1 at index 1, 2 and 3 at index 2 and so on.
+     */
+    long[] getBuckets();
+}
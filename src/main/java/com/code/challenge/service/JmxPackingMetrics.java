@@ -0,0 +1,201 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PackingMetrics exposed through JMX with no dependency beyond the JDK.
+ * <p>
+ * Counters are registered as one MBean named domain:type=PackingMetrics, and each latency or size histogram as
+ * domain:type=PackingMetrics,name=NAME: ParseNanos, ForwardPassNanos, BackwardPassNanos and FormatNanos per line or
+ * solve, FrontierSize, the states merged in the cumulative set of each stage, and LargestSetSize, the states of
+ * the largest cumulative set of each solve, telling which problems blow up frontier sizes. Recording is lock free and can be shared by all parsing and solving threads.
+ */
+public class JmxPackingMetrics implements PackingMetrics, JmxPackingMetricsMBean {
+    public static final String DEFAULT_DOMAIN = "com.code.challenge";
+
+    private final LongAdder stages = new LongAdder();
+    private final LongAdder mergeInputStates = new LongAdder();
+    private final LongAdder dominatedStates = new LongAdder();
+    private final LongAdder prunedStates = new LongAdder();
+    private final Histogram parseNanos = new Histogram();
+    private final Histogram forwardPassNanos = new Histogram();
+    private final Histogram backwardPassNanos = new Histogram();
+    private final Histogram formatNanos = new Histogram();
+    private final Histogram frontierSizes = new Histogram();
+    private final Histogram largestSetSizes = new Histogram();
+
+    @Override
+    public void onLineParsed(long nanos) {
+        parseNanos.record(nanos);
+    }
+
+    @Override
+    public void onMerge(int stage, int inputSize, int mergedSize) {
+        mergeInputStates.add(inputSize);
+        dominatedStates.add(inputSize - mergedSize);
+    }
+
+    @Override
+    public void onStage(int stage, int mergedSize, int prunedSize) {
+        stages.increment();
+        frontierSizes.record(mergedSize);
+        prunedStates.add(prunedSize);
+    }
+
+    @Override
+    public void onForwardPass(long nanos, int stages, int largestSize) {
+        forwardPassNanos.record(nanos);
+        largestSetSizes.record(largestSize);
+    }
+
+    @Override
+    public void onBackwardPass(long nanos) {
+        backwardPassNanos.record(nanos);
+    }
+
+    @Override
+    public void onFormat(long nanos) {
+        formatNanos.record(nanos);
+    }
+
+    @Override
+    public long getParsedLines() {
+        return parseNanos.getCount();
+    }
+
+    @Override
+    public long getSolvedProblems() {
+        return forwardPassNanos.getCount();
+    }
+
+    @Override
+    public long getStages() {
+        return stages.sum();
+    }
+
+    @Override
+    public long getMergeInputStates() {
+        return mergeInputStates.sum();
+    }
+
+    @Override
+    public long getDominatedStates() {
+        return dominatedStates.sum();
+    }
+
+    @Override
+    public long getPrunedStates() {
+        return prunedStates.sum();
+    }
+
+    @Override
+    public long getLargestSetSize() {
+        return largestSetSizes.getMax();
+    }
+
+    @Override
+    public void reset() {
+        stages.reset();
+        mergeInputStates.reset();
+        dominatedStates.reset();
+        prunedStates.reset();
+        for (Histogram histogram : this.getHistograms().values())
+            histogram.reset();
+    }
+
+    public Histogram getParseNanos() {
+        return parseNanos;
+    }
+
+    public Histogram getForwardPassNanos() {
+        return forwardPassNanos;
+    }
+
+    public Histogram getBackwardPassNanos() {
+        return backwardPassNanos;
+    }
+
+    public Histogram getFormatNanos() {
+        return formatNanos;
+    }
+
+    public Histogram getFrontierSizes() {
+        return frontierSizes;
+    }
+
+    public Histogram getLargestSetSizes() {
+        return largestSetSizes;
+    }
+
+    /**
+     * Register counters and histograms in the platform MBean server under DEFAULT_DOMAIN.
+     *
+     * @throws APIException when MBeans can not be registered, for instance when already registered.
+     */
+    public void register() throws APIException {
+        this.register(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Register counters and histograms in given MBean server.
+     *
+     * @param server MBean server to register in.
+     * @param domain domain of object names.
+     * @throws APIException when MBeans can not be registered, for instance when already registered.
+     */
+    public void register(MBeanServer server, String domain) throws APIException {
+        try {
+            server.registerMBean(this, getObjectName(domain, null));
+            for (Map.Entry<String, Histogram> histogram : this.getHistograms().entrySet())
+                server.registerMBean(histogram.getValue(), getObjectName(domain, histogram.getKey()));
+        } catch (JMException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Unregister counters and histograms registered in given MBean server.
+     *
+     * @param server MBean server they were registered in.
+     * @param domain domain of object names.
+     * @throws APIException when MBeans can not be unregistered.
+     */
+    public void unregister(MBeanServer server, String domain) throws APIException {
+        try {
+            server.unregisterMBean(getObjectName(domain, null));
+            for (String name : this.getHistograms().keySet())
+                server.unregisterMBean(getObjectName(domain, name));
+        } catch (JMException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * @param domain domain of object names.
+     * @param name   name of a histogram, null for counters.
+     * @return object name of counters or of a histogram.
+     * @throws JMException when domain is not a valid object name domain.
+     */
+    public static ObjectName getObjectName(String domain, String name) throws JMException {
+        return new ObjectName(domain + ":type=PackingMetrics" + (name == null ? "" : ",name=" + name));
+    }
+
+    private Map<String, Histogram> getHistograms() {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        histograms.put("ParseNanos", parseNanos);
+        histograms.put("ForwardPassNanos", forwardPassNanos);
+        histograms.put("BackwardPassNanos", backwardPassNanos);
+        histograms.put("FormatNanos", formatNanos);
+        histograms.put("FrontierSize", frontierSizes);
+        histograms.put("LargestSetSize", largestSetSizes);
+        return histograms;
+    }
+}
@@ -0,0 +1,37 @@
+package com.code.challenge.service;
+
+/**
+ * JMX view of the counters of JmxPackingMetrics; latencies and set sizes are registered as Histogram MBeans.
+ */
+public interface JmxPackingMetricsMBean {
+    long getParsedLines();
+
+    long getSolvedProblems();
+
+    long getStages();
+
+    /**
+     * @return states entering merges, states of previous sets and their extensions.
+     */
+    long getMergeInputStates();
+
+    /**
+     * @return states dropped by merges as dominated.
+     */
+    long getDominatedStates();
+
+    /**
+     * @return states removed by bound pruning.
+     */
+    long getPrunedStates();
+
+    /**
+     * @return states of the largest cumulative set of any problem.
+     */
+    long getLargestSetSize();
+
+    /**
+     * Reset all counters and histograms.
+     */
+    void reset();
+}
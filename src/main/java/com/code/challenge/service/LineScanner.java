@@ -0,0 +1,163 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single pass scanner of a well formed problem line such as "81 : (1,53.38,&euro;45) (2,88.62,&euro;98)".
+ * <p>
+ * Characters are read once from left to right and numbers are decoded in place, no String is created
+ * for any field. A line is well formed when capacity, " : " and a sequence of triplets follow each other,
+ * triplets may be separated and followed by whitespace only.
+ * <p>
+ * Every well formed line is also accepted by the line pattern of Parser and gives the same Problem.
+ * Other lines, including the ones the pattern still accepts, are left to Parser.
+ */
+class LineScanner {
+    static final String EURO_SIGN = "\u20AC";
+    /**
+     * Euro sign encoded in UTF-8, as seen when each byte of a line is read as one char.
+     */
+    static final String UTF8_BYTES_EURO_SIGN = "\u00E2\u0082\u00AC";
+    private static final String CAPACITY_SEPARATOR = " : ";
+
+    private final CharSequence line;
+    private final String euroSign;
+    private int position;
+
+    /**
+     * @param line a line read from input file.
+     */
+    LineScanner(CharSequence line) {
+        this(line, EURO_SIGN);
+    }
+
+    /**
+     * @param line     a line read from input file, or its bytes each read as one char.
+     * @param euroSign representation of euro sign in given line.
+     */
+    LineScanner(CharSequence line, String euroSign) {
+        this.line = line;
+        this.euroSign = euroSign;
+    }
+
+    /**
+     * Scan the line from its beginning.
+     *
+     * @return Problem of the line, or null when line is not well formed or a number does not fit an int.
+     */
+    Problem scan() {
+        this.position = 0;
+
+        long capacity = this.scanNumber();
+        if (capacity < 0 || !this.skip(CAPACITY_SEPARATOR))
+            return null;
+
+        List<Triplet> triplets = new ArrayList<>();
+        do {
+            Triplet triplet = this.scanTriplet();
+            if (triplet == null)
+                return null;
+            triplets.add(triplet);
+            this.skipWhitespace();
+        } while (position < line.length());
+
+        return new Problem((int) capacity, triplets);
+    }
+
+    /**
+     * Scan a triplet such as "(1,53.38,&euro;45)".
+     *
+     * @return scanned triplet or null when not well formed.
+     */
+    private Triplet scanTriplet() {
+        if (!this.skip('('))
+            return null;
+        long id = this.scanNumber();
+        if (id < 0 || !this.skip(','))
+            return null;
+        long weight = this.scanWeight();
+        if (weight < 0 || !this.skip(',') || !this.skip(euroSign))
+            return null;
+        long cost = this.scanNumber();
+        if (cost < 0 || !this.skip(')'))
+            return null;
+        return Triplet.withFixedPointWeight((int) id, (int) weight, (int) cost);
+    }
+
+    /**
+     * Scan a weight such as "53.38" to hundredths. A weight with more than two decimals is not well formed,
+     * it is left to Parser which rejects it like Util.parseFixedPoint does.
+     *
+     * @return weight in hundredths, or -1 when not well formed or out of int range.
+     */
+    private long scanWeight() {
+        long integer = this.scanNumber();
+        if (integer < 0 || !this.skip('.'))
+            return -1;
+
+        int start = position;
+        int fraction = 0;
+        for (int scale = Util.WEIGHT_SCALE / 10; position < line.length() && isDigit(line.charAt(position)); position++, scale /= 10) {
+            if (scale == 0)
+                return -1;
+            fraction += (line.charAt(position) - '0') * scale;
+        }
+        if (position == start)
+            return -1;
+
+        long weight = integer * Util.WEIGHT_SCALE + fraction;
+        return weight > Integer.MAX_VALUE ? -1 : weight;
+    }
+
+    /**
+     * Scan one or more digits.
+     *
+     * @return decoded value, or -1 when no digit found or value is out of int range.
+     */
+    private long scanNumber() {
+        int start = position;
+        long value = 0;
+        while (position < line.length() && isDigit(line.charAt(position))) {
+            value = value * 10 + line.charAt(position) - '0';
+            if (value > Integer.MAX_VALUE)
+                return -1;
+            position++;
+        }
+        return position == start ? -1 : value;
+    }
+
+    private boolean skip(char expected) {
+        if (position >= line.length() || line.charAt(position) != expected)
+            return false;
+        position++;
+        return true;
+    }
+
+    private boolean skip(String expected) {
+        for (int i = 0; i < expected.length(); i++)
+            if (!this.skip(expected.charAt(i)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Skip characters matched by \s in a regular expression.
+     */
+    private void skipWhitespace() {
+        while (position < line.length()) {
+            char c = line.charAt(position);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r')
+                return;
+            position++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
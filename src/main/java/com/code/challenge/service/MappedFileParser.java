@@ -0,0 +1,276 @@
+package com.code.challenge.service;
+
+import com.code.challenge.event.ParseLineEvent;
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parse a memory mapped input file in chunks of bytes on the common fork-join pool.
+ * <p>
+ * A chunk owns the lines starting inside its byte range, so it skips the tail of a line started by
+ * the previous chunk and reads its own last line past its end. Lines are scanned straight from mapped
+ * bytes by LineScanner, only a line it does not accept is decoded to a String and handed to Parser.
+ * <p>
+ * A few chunks per thread are parsed at a time and their problems are returned in input order,
+ * so line numbers of errors are counted from the start of the file and memory does not grow with file size.
+ * Lines end with "\n", "\r" or "\r\n" like Files.lines.
+ */
+class MappedFileParser implements Closeable {
+    static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+    private static final int CHUNKS_PER_THREAD = 2;
+    private static final int LINE_MAPPING_SLACK = 64 << 10;
+
+    private final Parser parser;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int chunkSize;
+    private final long chunkCount;
+
+    /**
+     * @param parser    parser of lines not accepted by LineScanner.
+     * @param filePath  path to input problem file.
+     * @param chunkSize number of bytes of a chunk.
+     * @throws IOException when file can not be opened.
+     */
+    MappedFileParser(Parser parser, Path filePath, int chunkSize) throws IOException {
+        this.parser = parser;
+        this.channel = FileChannel.open(filePath, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.chunkSize = chunkSize;
+        this.chunkCount = (fileSize + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * @return Stream of problems in input order, closing it closes the file.
+     */
+    Stream<Problem> stream() {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(new ProblemIterator(),
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    private ChunkResult[] parseChunks(long firstChunk, long lastChunk) {
+        try {
+            return IntStream.range(0, (int) (lastChunk - firstChunk))
+                    .parallel()
+                    .mapToObj(i -> new ChunkParser(firstChunk + i).parse())
+                    .toArray(ChunkResult[]::new);
+        } catch (UncheckedIOException e) {
+            throw new APIException(e.getCause());
+        }
+    }
+
+    /**
+     * Problems of a chunk, and the first line of the chunk that could not be parsed if any.
+     */
+    private static class ChunkResult {
+        private final List<Problem> problems = new ArrayList<>();
+        private String errorLine;
+        private RuntimeException error;
+    }
+
+    /**
+     * Walk parsed chunks in input order, parsing the next round of chunks when the current one is used up.
+     */
+    private class ProblemIterator implements Iterator<Problem> {
+        private long nextChunk;
+        private long linesBefore;
+        private ChunkResult[] round = new ChunkResult[0];
+        private int roundIndex;
+        private int problemIndex;
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                if (roundIndex < round.length) {
+                    ChunkResult chunk = round[roundIndex];
+                    if (problemIndex < chunk.problems.size())
+                        return true;
+                    if (chunk.error != null)
+                        throw new APIException(String.format("Can not parse line %d: %s ",
+                                linesBefore + problemIndex + 1, chunk.errorLine), chunk.error);
+                    linesBefore += chunk.problems.size();
+                    roundIndex++;
+                    problemIndex = 0;
+                } else if (nextChunk < chunkCount) {
+                    int parallelism = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+                    long lastChunk = Math.min(chunkCount, nextChunk + parallelism);
+                    round = parseChunks(nextChunk, lastChunk);
+                    roundIndex = 0;
+                    nextChunk = lastChunk;
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public Problem next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return round[roundIndex].problems.get(problemIndex++);
+        }
+    }
+
+    /**
+     * Parse lines starting in one chunk, mapping the chunk and a little more for its last line.
+     * The mapping is widened from the current line when a line does not fit in it.
+     */
+    private class ChunkParser {
+        private final long chunkStart;
+        private final long chunkEnd;
+        private MappedByteBuffer buffer;
+        private long bufferStart;
+        private long bufferEnd;
+
+        ChunkParser(long chunk) {
+            this.chunkStart = chunk * chunkSize;
+            this.chunkEnd = Math.min(fileSize, chunkStart + chunkSize);
+        }
+
+        ChunkResult parse() {
+            ChunkResult result = new ChunkResult();
+            PackingMetrics metrics = parser.getMetrics();
+            long position = chunkStart;
+            this.map(Math.max(chunkStart - 1, 0), chunkEnd - chunkStart + 1 + LINE_MAPPING_SLACK);
+            if (chunkStart > 0)
+                while (position < chunkEnd && !this.isLineStart(position))
+                    position++;
+
+            while (position < chunkEnd) {
+                long lineEnd = position;
+                while (lineEnd < fileSize && !isLineTerminator(this.byteAt(lineEnd, position)))
+                    lineEnd++;
+
+                ByteSequence line = new ByteSequence(buffer, (int) (position - bufferStart), (int) (lineEnd - position));
+                ParseLineEvent event = new ParseLineEvent();
+                event.begin();
+                long start = metrics.isEnabled() ? System.nanoTime() : 0;
+                Problem problem = new LineScanner(line, LineScanner.UTF8_BYTES_EURO_SIGN).scan();
+                if (problem == null) {
+                    try {
+                        problem = parser.parseLine(line.toString());
+                    } catch (RuntimeException e) {
+                        result.errorLine = line.toString();
+                        result.error = e;
+                        return result;
+                    }
+                }
+                Parser.recordLine(metrics, start, event, line.length(), problem);
+                result.problems.add(problem);
+
+                position = lineEnd + 1;
+                if (lineEnd + 1 < fileSize && this.byteAt(lineEnd, lineEnd) == '\r' && this.byteAt(lineEnd + 1, lineEnd) == '\n')
+                    position++;
+            }
+            return result;
+        }
+
+        /**
+         * @param position file position, greater than 0.
+         * @return true if a line starts at given position.
+         */
+        private boolean isLineStart(long position) {
+            byte previous = this.byteAt(position - 1, position - 1);
+            return previous == '\n' || (previous == '\r' && this.byteAt(position, position - 1) != '\n');
+        }
+
+        /**
+         * @param position     file position of the byte.
+         * @param mappingStart file position to map from when given position is not mapped yet.
+         * @return byte at given file position.
+         */
+        private byte byteAt(long position, long mappingStart) {
+            if (position >= bufferEnd) {
+                if (position - mappingStart >= Integer.MAX_VALUE)
+                    throw new APIException(String.format("Line longer than %d bytes at byte %d", Integer.MAX_VALUE, mappingStart));
+                long length = Math.max(bufferEnd - mappingStart, LINE_MAPPING_SLACK) << 1;
+                this.map(mappingStart, Math.max(length, position - mappingStart + 1));
+            }
+            return buffer.get((int) (position - bufferStart));
+        }
+
+        private void map(long start, long length) {
+            long size = Math.min(Math.min(length, fileSize - start), Integer.MAX_VALUE);
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bufferStart = start;
+            bufferEnd = start + size;
+        }
+    }
+
+    private static boolean isLineTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Bytes of a mapped line, each byte read as one char. Only toString decodes the bytes as UTF-8.
+     */
+    private static class ByteSequence implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        ByteSequence(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new ByteSequence(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++)
+                bytes[i] = buffer.get(offset + i);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Concrete class to solve packing problem by meet in the middle, after Horowitz and Sahni.
+ * <p>
+ * Items in ratio order are split in two halves and weight and cost of every items set of each half are enumerated
+ * into int arrays indexed by items set bitmask. First half is sorted by weight and filtered to items sets costing
+ * more than all lighter ones, then every items set of second half looks up the costliest first half items set
+ * fitting remaining capacity by binary search. Time and memory grow as 2^(n/2), so it suits a few tens of items.
+ * <p>
+ * Items are then picked walking items from last to first in ratio order, following one items set reaching the
+ * optimal weight and cost: an item of that set is left out when earlier items reach the same weight and cost, found
+ * by scanning items sets of earlier second half items and binary searching the first half for the rest. This gives
+ * the same items as CumulativePacking.
+ */
+public class MeetInTheMiddlePacking extends AbstractPacking {
+    /**
+     * Maximum number of items, 2^22 items sets per half.
+     */
+    public static final int MAX_ITEMS = 44;
+
+    public MeetInTheMiddlePacking() {
+        this(PackingLimits.DEFAULT);
+    }
+
+    /**
+     * @param limits limits of problems to solve.
+     * @throws APIException when limits allow more than MAX_ITEMS items.
+     */
+    public MeetInTheMiddlePacking(PackingLimits limits) throws APIException {
+        super(limits);
+        if (limits.getMaxItems() > MAX_ITEMS)
+            throw new APIException(
+                    String.format("Invalid parameter: meet in the middle packing supports up to %d items", MAX_ITEMS));
+    }
+
+    /**
+     * Solve Given problem and produce optimal item sequence as list of Triplets.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @return optimal triplets list
+     */
+    @Override
+    protected List<Triplet> solve(Problem problem) {
+        List<Triplet> triplets = this.getRatioOrderedTriplets(problem);
+        Halves halves = new Halves(triplets);
+        long witness = halves.findBest(this.getFixedPointCapacity(problem));
+
+        int weight = halves.bestWeight;
+        int cost = halves.bestCost;
+        List<Triplet> solution = new ArrayList<>();
+        for (int k = triplets.size(); k > 0 && cost > 0; k--) {
+            if ((witness >>> (k - 1) & 1) == 0)
+                continue;
+            long earlier = halves.findExact(k - 1, weight, cost);
+            if (earlier >= 0) {
+                witness = earlier;
+                continue;
+            }
+            Triplet triplet = triplets.get(k - 1);
+            solution.add(triplet);
+            weight -= triplet.getFixedPointWeight();
+            cost -= triplet.getCost();
+        }
+        return solution;
+    }
+
+    /**
+     * Items sets of both halves of a problem. Items set bitmasks have a bit per stage, first half in low bits.
+     */
+    private static final class Halves {
+        private final int firstSize;
+        private final int[] firstWeights;
+        private final int[] firstCosts;
+        private final int[] secondWeights;
+        private final int[] secondCosts;
+        /**
+         * First half items sets by weight then cost, each as weight in high and cost in low 32 bits.
+         */
+        private final long[] firstByWeight;
+        private int bestWeight;
+        private int bestCost;
+
+        /**
+         * @param triplets items in ratio order.
+         */
+        Halves(List<Triplet> triplets) {
+            this.firstSize = triplets.size() / 2;
+            this.firstWeights = new int[1 << firstSize];
+            this.firstCosts = new int[1 << firstSize];
+            enumerate(triplets.subList(0, firstSize), firstWeights, firstCosts);
+            int secondSize = triplets.size() - firstSize;
+            this.secondWeights = new int[1 << secondSize];
+            this.secondCosts = new int[1 << secondSize];
+            enumerate(triplets.subList(firstSize, triplets.size()), secondWeights, secondCosts);
+
+            this.firstByWeight = new long[firstWeights.length];
+            for (int mask = 0; mask < firstWeights.length; mask++)
+                firstByWeight[mask] = key(firstWeights[mask], firstCosts[mask]);
+            Arrays.sort(firstByWeight);
+        }
+
+        /**
+         * Find costliest then lightest items set fitting capacity.
+         *
+         * @param capacity capacity in hundredths.
+         * @return bitmask of an items set reaching optimal weight and cost, which are kept in best weight and cost.
+         */
+        long findBest(int capacity) {
+            // first half items sets costing more than all lighter ones: weights and costs both increasing
+            int[] frontierWeights = new int[firstByWeight.length];
+            int[] frontierCosts = new int[firstByWeight.length];
+            int frontierSize = 0;
+            for (long key : firstByWeight) {
+                int cost = (int) key;
+                if (frontierSize == 0 || cost > frontierCosts[frontierSize - 1]) {
+                    frontierWeights[frontierSize] = (int) (key >>> 32);
+                    frontierCosts[frontierSize++] = cost;
+                }
+            }
+
+            bestWeight = 0;
+            bestCost = 0;
+            int bestSecondMask = 0;
+            int bestFirstWeight = 0;
+            for (int mask = 0; mask < secondWeights.length; mask++) {
+                int remainingCapacity = capacity - secondWeights[mask];
+                if (remainingCapacity < 0)
+                    continue;
+                int index = upperBound(frontierWeights, frontierSize, remainingCapacity) - 1;
+                int cost = secondCosts[mask] + frontierCosts[index];
+                int weight = secondWeights[mask] + frontierWeights[index];
+                if (cost > bestCost || (cost == bestCost && weight < bestWeight)) {
+                    bestCost = cost;
+                    bestWeight = weight;
+                    bestSecondMask = mask;
+                    bestFirstWeight = frontierWeights[index];
+                }
+            }
+            int firstMask = this.findFirstMask(bestFirstWeight, bestCost - secondCosts[bestSecondMask], firstWeights.length);
+            return (long) bestSecondMask << firstSize | firstMask;
+        }
+
+        /**
+         * Find items set of items before a stage reaching exactly given weight and cost.
+         *
+         * @param stageLimit only items of lower stages are packed.
+         * @param weight     weight in hundredths.
+         * @param cost       cost.
+         * @return bitmask of such items set, -1 when there is none.
+         */
+        long findExact(int stageLimit, int weight, int cost) {
+            if (stageLimit <= firstSize) {
+                int firstMask = this.findFirstMask(weight, cost, 1 << stageLimit);
+                return firstMask < 0 ? -1 : firstMask;
+            }
+            int secondMasks = 1 << (stageLimit - firstSize);
+            for (int mask = 0; mask < secondMasks; mask++) {
+                int firstWeight = weight - secondWeights[mask];
+                int firstCost = cost - secondCosts[mask];
+                if (firstWeight < 0 || firstCost < 0 || Arrays.binarySearch(firstByWeight, key(firstWeight, firstCost)) < 0)
+                    continue;
+                return (long) mask << firstSize | this.findFirstMask(firstWeight, firstCost, firstWeights.length);
+            }
+            return -1;
+        }
+
+        /**
+         * @param weight weight in hundredths.
+         * @param cost   cost.
+         * @param masks  number of first half bitmasks to scan, items sets of lower stages come first.
+         * @return lowest first half bitmask reaching exactly given weight and cost, -1 when there is none.
+         */
+        private int findFirstMask(int weight, int cost, int masks) {
+            for (int mask = 0; mask < masks; mask++)
+                if (firstWeights[mask] == weight && firstCosts[mask] == cost)
+                    return mask;
+            return -1;
+        }
+
+        private static void enumerate(List<Triplet> triplets, int[] weights, int[] costs) {
+            for (int mask = 1; mask < weights.length; mask++) {
+                int item = Integer.numberOfTrailingZeros(mask);
+                int previous = mask & (mask - 1);
+                weights[mask] = weights[previous] + triplets.get(item).getFixedPointWeight();
+                costs[mask] = costs[previous] + triplets.get(item).getCost();
+            }
+        }
+
+        private static long key(int weight, int cost) {
+            return (long) weight << 32 | cost;
+        }
+
+        /**
+         * @return index of first of sorted values greater than given value.
+         */
+        private static int upperBound(int[] values, int size, int value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] <= value)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.CumulativeSet;
+
+/**
+ * Merge states of a Cumulative set with states extended by
+ * choosing a triplet item using dominance pruning mechanism.
+ * A merger keeps pointers of the merge in progress, so each forward pass uses its own.
+ */
+class Merger {
+
+    private int firstPointer;
+    private int firstMaxIndex;
+
+    private int secondPointer;
+    private int secondMaxIndex;
+    private int secondPredecessorOffset;
+    CumulativeSet firstSet;
+    CumulativeSet secondSet;
+
+    /**
+     * Initializes pointers and max index for ranges of first and second sets.
+     *
+     * @param firstSet                represents states of items in a package.
+     * @param firstFrom               index of first state of first set to merge.
+     * @param firstTo                 index after last state of first set to merge.
+     * @param secondSet               represents states of items in a package.
+     * @param secondFrom              index of first state of second set to merge.
+     * @param secondTo                index after last state of second set to merge.
+     * @param secondPredecessorOffset added to second pointer to get predecessor index of a second state.
+     */
+    public void initialize(CumulativeSet firstSet, int firstFrom, int firstTo,
+                           CumulativeSet secondSet, int secondFrom, int secondTo, int secondPredecessorOffset) {
+
+        firstPointer = firstFrom;
+        firstMaxIndex = firstTo - 1;
+
+        secondPointer = secondFrom;
+        secondMaxIndex = secondTo - 1;
+        this.secondPredecessorOffset = secondPredecessorOffset;
+
+        this.firstSet = firstSet;
+        this.secondSet = secondSet;
+    }
+
+    /**
+     * In merge operation Items would be merged in a ascending order of weights with domination:
+     * <p>
+     * Domination is when one item has same or less weight and same or higher cost comparing to the other.
+     * <p>
+     * State i of extended set is built from state i of cumulative set, so pointers also
+     * serve as predecessor indices recorded by a linked result set.
+     * <p>
+     * cases:
+     * if item1 weight < other: write item1 to result and move second pointer until can not be dominated.
+     * else if weights are equal move pointer for item dominated.
+     * else if item1 weight > other: same logic holds for item2 in the first case.
+     *
+     * @param firstSet  calculated cumulative set to include all items in the previous rounds.
+     * @param secondSet an extended set in which one specific item added contributing to total weights/cost.
+     * @param result    set to append merged states to.
+     */
+    public void merge(CumulativeSet firstSet, CumulativeSet secondSet, CumulativeSet result) {
+        this.merge(firstSet, 0, firstSet.size(), secondSet, 0, secondSet.size(), 0, result);
+    }
+
+    /**
+     * Merge a range of states of first set with a range of states of second set, see merge(CumulativeSet,
+     * CumulativeSet, CumulativeSet). Range of second set may be extended from a later range of states in
+     * previous stage, given offset turns second pointer into predecessor index of the state.
+     *
+     * @param firstSet                calculated cumulative set to include all items in the previous rounds.
+     * @param firstFrom               index of first state of first set to merge.
+     * @param firstTo                 index after last state of first set to merge.
+     * @param secondSet               an extended set in which one specific item added contributing to total weights/cost.
+     * @param secondFrom              index of first state of second set to merge.
+     * @param secondTo                index after last state of second set to merge.
+     * @param secondPredecessorOffset added to second pointer to get predecessor index of a second state.
+     * @param result                  set to append merged states to.
+     */
+    public void merge(CumulativeSet firstSet, int firstFrom, int firstTo,
+                      CumulativeSet secondSet, int secondFrom, int secondTo, int secondPredecessorOffset,
+                      CumulativeSet result) {
+
+        this.initialize(firstSet, firstFrom, firstTo, secondSet, secondFrom, secondTo, secondPredecessorOffset);
+
+        while (arePointersNotTraversedCompletely()) {
+            if (areBothPointersInRange()) {
+                int firstWeight = this.firstSet.getWeight(firstPointer);
+                int firstCost = this.firstSet.getCost(firstPointer);
+                int secondWeight = this.secondSet.getWeight(secondPointer);
+                int secondCost = this.secondSet.getCost(secondPointer);
+
+                if (firstWeight < secondWeight) {
+                    result.addFrom(this.firstSet, firstPointer, firstPointer, false);    // Add item; can't be dominated by other item
+                    firstPointer++;
+                    moveSecondPointerUntilNotDominated(firstCost);
+
+                } else if (firstWeight == secondWeight) {
+                    moveDominatedPointerInCaseEqualWeights(firstCost, secondCost);
+
+                } else {
+                    result.addFrom(this.secondSet, secondPointer, secondPointer + secondPredecessorOffset, true);    //  Add other item, can't be dominated by item
+                    secondPointer++;
+                    moveFirstPointerUntilNotDominated(secondCost);
+                }
+            } else if (firstPointer > firstMaxIndex) {    // Only other items left to consider
+                addSecondStatesToResultIfNotDominated(result);
+            } else {    // indexOther > maxIndexOther. Only items left to consider
+                addFirstStatesToResultIfNotDominated(result);
+            }
+
+        }
+    }
+
+    /**
+     * Logic holds for the first case in merge operation:
+     * if item1 weight < other: write item1 to result and move second pointer until can not be dominated.
+     *
+     * @param result result set to add item when possible.
+     */
+    private void addFirstStatesToResultIfNotDominated(CumulativeSet result) {
+        while (firstPointer <= firstMaxIndex) {
+            int firstCost = firstSet.getCost(firstPointer);
+            if (firstCost > lastCost(result))
+                result.addFrom(firstSet, firstPointer, firstPointer, false);
+            firstPointer++;
+        }
+    }
+
+    /**
+     * Logic holds for the third case in merge operation:
+     * if item1 weight > other: write item2 to result and move first pointer until can not be dominated.
+     *
+     * @param result result set to add item when possible.
+     */
+    private void addSecondStatesToResultIfNotDominated(CumulativeSet result) {
+        while (secondPointer <= secondMaxIndex) {
+            int secondCost = secondSet.getCost(secondPointer);
+            if (secondCost > lastCost(result))
+                result.addFrom(secondSet, secondPointer, secondPointer + secondPredecessorOffset, true);
+            secondPointer++;
+        }
+    }
+
+    /**
+     * Cost of the last state merged so far, states left over in one of the sets are
+     * dominated unless they cost more, as they all weigh more.
+     *
+     * @param result result set merged states are added to.
+     * @return cost of the last merged state or minimum int value when nothing merged yet.
+     */
+    private int lastCost(CumulativeSet result) {
+        return result.size() == 0 ? Integer.MIN_VALUE : result.getCost(result.size() - 1);
+    }
+
+    /**
+     * Move First Pointer until not dominated by a state taken from second set.
+     *
+     * @param secondCost cost of a cumulative state added from second set.
+     */
+    private void moveFirstPointerUntilNotDominated(int secondCost) {
+        while (firstPointer <= firstMaxIndex && firstSet.getCost(firstPointer) <= secondCost)    // item dominated; skip it
+            firstPointer++;
+    }
+
+    /**
+     * Logic holds for the second case in merge operation:
+     * if weights are equal move pointer for item dominated. no item would add to result as
+     * any of them could be dominated in the next round.
+     *
+     * @param firstCost  cost of a cumulative state in first set.
+     * @param secondCost cost of a cumulative state in second set.
+     */
+    private void moveDominatedPointerInCaseEqualWeights(int firstCost, int secondCost) {
+        if (firstCost >= secondCost)    // Other item dominated
+            secondPointer++;
+        else
+            firstPointer++;                            // Item dominated
+    }
+
+    /**
+     * Move Second Pointer until not dominated by a state taken from first set.
+     *
+     * @param firstCost cost of a cumulative state added from first set.
+     */
+    private void moveSecondPointerUntilNotDominated(int firstCost) {
+        while (secondPointer <= secondMaxIndex && secondSet.getCost(secondPointer) <= firstCost)    // Other item dominated; skip it
+            secondPointer++;
+    }
+
+    /**
+     * Check if all items in both sets are traversed.
+     *
+     * @return true if all items traversed, otherwise false.
+     */
+    private boolean arePointersNotTraversedCompletely() {
+        return firstPointer <= firstMaxIndex || secondPointer <= secondMaxIndex;
+    }
+
+    /**
+     * Check if both sets not traversed completely.
+     *
+     * @return false if any of the sets traversed, otherwise true.
+     */
+    private boolean areBothPointersInRange() {
+        return firstPointer <= firstMaxIndex && secondPointer <= secondMaxIndex;
+    }
+}
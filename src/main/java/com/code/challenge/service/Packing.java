@@ -11,5 +11,25 @@ import java.util.List;
 public interface Packing {
     List<Triplet> getOptimalTriplets(Problem problem);
 
+    /**
+     * Solve given problem reusing buffers of a context owned by the calling thread.
+     * Engines keeping no reusable buffers solve without it.
+     *
+     * @param problem Includes package capacity and list of items with their costs and weight.
+     * @param context buffers reused across problems solved by the calling thread.
+     * @return optimal triplets list
+     */
+    default List<Triplet> getOptimalTriplets(Problem problem, SolverContext context) {
+        return this.getOptimalTriplets(problem);
+    }
+
     String getOptimalItemIdsInString(Problem problem);
+
+    /**
+     * @return metrics this packing records its stages to, also told format times by writers of its solutions
+     * such as SolutionWriter; NONE by default.
+     */
+    default PackingMetrics getMetrics() {
+        return PackingMetrics.NONE;
+    }
 }
@@ -0,0 +1,66 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.utility.Util;
+
+/**
+ * Limits a Packing validates problems against: number of items in a problem, and weight and cost of an item.
+ * <p>
+ * Limits are checked when created so cumulative weight of all items in hundredths and cumulative cost
+ * of all items fit an int, which is what cumulative sets store.
+ */
+public class PackingLimits {
+    /**
+     * Limits of the original challenge: up to 15 items, weighing and costing up to 100 each.
+     */
+    public static final PackingLimits DEFAULT = new PackingLimits(
+            CumulativePacking.MAX_TRIPLETS_SIZE_IN_PROBLEM,
+            CumulativePacking.MAX_TRIPLET_WEIGHT,
+            CumulativePacking.MAX_TRIPLET_COST);
+
+    private final int maxItems;
+    private final int maxItemWeight;
+    private final int maxItemCost;
+
+    /**
+     * @param maxItems      maximum number of items in a problem.
+     * @param maxItemWeight maximum weight of an item.
+     * @param maxItemCost   maximum cost of an item.
+     * @throws APIException when a limit is not positive, or all items together could overflow an int.
+     */
+    public PackingLimits(int maxItems, int maxItemWeight, int maxItemCost) throws APIException {
+        if (maxItems <= 0 || maxItemWeight <= 0 || maxItemCost <= 0)
+            throw new APIException("Invalid parameter: packing limits must be positive");
+        if ((long) maxItems * maxItemWeight * Util.WEIGHT_SCALE > Integer.MAX_VALUE)
+            throw new APIException(String.format(
+                    "Invalid parameter: %d items weighing %d exceed %d hundredths", maxItems, maxItemWeight, Integer.MAX_VALUE));
+        if ((long) maxItems * maxItemCost > Integer.MAX_VALUE)
+            throw new APIException(String.format(
+                    "Invalid parameter: %d items costing %d exceed %d", maxItems, maxItemCost, Integer.MAX_VALUE));
+
+        this.maxItems = maxItems;
+        this.maxItemWeight = maxItemWeight;
+        this.maxItemCost = maxItemCost;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public int getMaxItemWeight() {
+        return maxItemWeight;
+    }
+
+    public int getMaxItemCost() {
+        return maxItemCost;
+    }
+
+    @Override
+    public String toString() {
+        return "PackingLimits{" +
+                "maxItems=" + maxItems +
+                ", maxItemWeight=" + maxItemWeight +
+                ", maxItemCost=" + maxItemCost +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package com.code.challenge.service;
+
+/**
+ * Instrumentation of parse, solve and format stages, implemented by metrics backends such as JmxPackingMetrics.
+ * <p>
+ * Every method does nothing by default. Instrumented code asks isEnabled() before reading clocks or counting,
+ * so NONE, the default of Parser and CumulativePacking, costs one predictable branch per line or solve.
+ * Methods are called from parsing and solving threads, so a metrics shared by threads has to be thread safe.
+ */
+public interface PackingMetrics extends FrontierListener {
+    /**
+     * Metrics recording nothing.
+     */
+    PackingMetrics NONE = new PackingMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * @return false when nothing is recorded, so callers may skip measuring.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @param nanos time to parse one line into a problem.
+     */
+    default void onLineParsed(long nanos) {
+    }
+
+    /**
+     * @param stage      stage number, starting from 1 for the first item.
+     * @param inputSize  number of states of the previous set and of its extension by the item of the stage.
+     * @param mergedSize number of those states left after dominated ones were dropped by the merge.
+     */
+    default void onMerge(int stage, int inputSize, int mergedSize) {
+    }
+
+    /**
+     * @param stage      stage number, starting from 1 for the first item.
+     * @param mergedSize number of states merged in the cumulative set of the stage.
+     * @param prunedSize number of those states removed by bound pruning, 0 when pruning is off.
+     */
+    @Override
+    default void onStage(int stage, int mergedSize, int prunedSize) {
+    }
+
+    /**
+     * @param nanos       time to build cumulative sets of a problem.
+     * @param stages      number of stages, items fitting capacity.
+     * @param largestSize number of states of the largest cumulative set.
+     */
+    default void onForwardPass(long nanos, int stages, int largestSize) {
+    }
+
+    /**
+     * @param nanos time to read optimal items of a problem from its cumulative sets.
+     */
+    default void onBackwardPass(long nanos) {
+    }
+
+    /**
+     * @param nanos time to format optimal items of a problem into a solution line.
+     */
+    default void onFormat(long nanos) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.CumulativeSet;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental solver of a problem changing one item or the capacity at a time.
+ * <p>
+ * A session keeps the linked cumulative set of every stage, one stage per item in order of append. Appending an item
+ * extends and merges the last set only, removing the last item drops the last set, and shrinking capacity removes
+ * the heaviest states of every set, which leaves the sets a solve with that capacity builds. Earlier stages are never
+ * computed again, and the solution is read by following links from the last set.
+ * <p>
+ * A solution has the same cost and weight as CumulativePacking gives for the items of the session. When items are
+ * appended in descending cost/weight ratio order the items are the same too; otherwise another items set of equal
+ * weight and cost may be chosen. A session is not thread safe.
+ */
+public class PackingSession {
+    private final CumulativePacking packing;
+    private final List<Triplet> triplets = new ArrayList<>();
+    private final List<CumulativeSet> sets = new ArrayList<>();
+    private final Merger merger = new Merger();
+    private final CumulativeSet extendedSet;
+    private int capacity;
+    private int fixedPointCapacity;
+
+    public PackingSession(int capacity) {
+        this(capacity, PackingLimits.DEFAULT);
+    }
+
+    /**
+     * @param capacity package capacity.
+     * @param limits   limits items are validated against.
+     * @throws APIException when capacity is negative.
+     */
+    public PackingSession(int capacity, PackingLimits limits) throws APIException {
+        validateCapacity(capacity);
+        this.packing = new CumulativePacking(limits);
+        this.capacity = capacity;
+        this.fixedPointCapacity = packing.getFixedPointCapacity(new Problem(capacity));
+        this.extendedSet = new CumulativeSet(fixedPointCapacity);
+        CumulativeSet sentinelSet = new CumulativeSet(fixedPointCapacity, 1, true);
+        sentinelSet.add(0, 0);
+        this.sets.add(sentinelSet);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of items in the session.
+     */
+    public int size() {
+        return triplets.size();
+    }
+
+    /**
+     * Add an item as the last stage, extending and merging the set of the previous stage only.
+     *
+     * @param triplet item to add.
+     * @throws APIException when the item or the number of items exceeds limits of the session.
+     */
+    public void append(Triplet triplet) throws APIException {
+        List<Triplet> appended = new ArrayList<>(triplets);
+        appended.add(triplet);
+        packing.validateProblem(new Problem(capacity, appended));
+
+        CumulativeSet lastSet = sets.get(sets.size() - 1);
+        int stage = sets.size();
+        extendedSet.clear();
+        int weight = triplet.getFixedPointWeight();
+        for (int i = 0; i < lastSet.size() && lastSet.getWeight(i) <= fixedPointCapacity - weight; i++)
+            extendedSet.addExtension(lastSet, i, lastSet.getWeight(i) + weight, lastSet.getCost(i) + triplet.getCost(), stage);
+
+        CumulativeSet mergedSet = new CumulativeSet(fixedPointCapacity, lastSet.size() + extendedSet.size(), true);
+        merger.merge(lastSet, extendedSet, mergedSet);
+        triplets.add(triplet);
+        sets.add(mergedSet);
+    }
+
+    /**
+     * Remove the item added last, with the set of its stage.
+     *
+     * @return removed item.
+     * @throws APIException when the session has no item.
+     */
+    public Triplet removeLast() throws APIException {
+        if (triplets.isEmpty())
+            throw new APIException("Invalid operation: session has no item to remove");
+        sets.remove(sets.size() - 1);
+        return triplets.remove(triplets.size() - 1);
+    }
+
+    /**
+     * Lower capacity of the session, removing states heavier than it from the set of every stage.
+     *
+     * @param capacity new package capacity, not higher than current one.
+     * @throws APIException when capacity is negative or higher than current one.
+     */
+    public void shrinkCapacity(int capacity) throws APIException {
+        validateCapacity(capacity);
+        if (capacity > this.capacity)
+            throw new APIException(String.format("Invalid parameter: capacity can only shrink from %d", this.capacity));
+        this.capacity = capacity;
+        this.fixedPointCapacity = packing.getFixedPointCapacity(new Problem(capacity));
+        for (CumulativeSet set : sets)
+            set.removeHeavierThan(fixedPointCapacity);
+    }
+
+    /**
+     * Read optimal items of the session from its sets.
+     *
+     * @return optimal triplets list, items of later stages first.
+     */
+    public List<Triplet> getOptimalTriplets() {
+        int lastSetIndex = sets.size() - 1;
+        int stateIndex = sets.get(lastSetIndex).size() - 1;    // Optimal state is the last one
+        List<Triplet> solution = new ArrayList<>();
+
+        for (int i = lastSetIndex; i > 0; i--) {
+            CumulativeSet currSet = sets.get(i);
+            if (currSet.isTaken(stateIndex))
+                solution.add(triplets.get(i - 1));
+            stateIndex = currSet.getPredecessor(stateIndex);
+        }
+        return solution;
+    }
+
+    /**
+     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
+     */
+    public String getOptimalItemIdsInString() {
+        String output = this.getOptimalTriplets().stream()
+                .map(Triplet::getId)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+
+        return Util.defaultIfEmpty(output, "-");
+    }
+
+    private static void validateCapacity(int capacity) {
+        if (capacity < 0)
+            throw new APIException("Invalid parameter: capacity must not be negative");
+    }
+}
@@ -0,0 +1,90 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.CumulativeSet;
+import com.code.challenge.model.Triplet;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Extend and merge one stage of a large cumulative set on the common fork-join pool.
+ * <p>
+ * The set is split into chunks of states, a chunk covers weights from its first state up to
+ * the first state of the next chunk. Every result state of that weight range is either a state
+ * of the chunk or an extension of a state whose weight lies in the range shifted down by item weight,
+ * so each chunk extends and merges its own states independently of the others.
+ * <p>
+ * Chunk results are stitched in weight order, a leading state of a chunk is dominated
+ * when it does not cost more than the last state kept from previous chunks.
+ */
+class ParallelMerger {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MINIMUM_CHUNK_SIZE = 1024;
+
+    /**
+     * Extend given set with given triplet and merge it with the set, see CumulativePacking.buildCumulativeSets.
+     *
+     * @param set     cumulative set of the previous stage, sorted by weight.
+     * @param triplet item of this stage.
+     * @param stage   stage number of the item, starting from 1 for the first item.
+     * @param result  empty set to append merged states to.
+     */
+    void extendAndMerge(CumulativeSet set, Triplet triplet, int stage, CumulativeSet result) {
+        int size = set.size();
+        int chunks = Math.min(size, Math.max(2,
+                Math.min(ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD, size / MINIMUM_CHUNK_SIZE)));
+
+        CumulativeSet[] chunkResults = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> this.extendAndMergeChunk(set, triplet, stage, chunk, chunks, result))
+                .toArray(CumulativeSet[]::new);
+
+        for (CumulativeSet chunkResult : chunkResults) {
+            int from = 0;
+            if (result.size() > 0) {
+                int lastCost = result.getCost(result.size() - 1);
+                while (from < chunkResult.size() && chunkResult.getCost(from) <= lastCost)
+                    from++;
+            }
+            result.addAll(chunkResult, from, chunkResult.size());
+        }
+    }
+
+    private CumulativeSet extendAndMergeChunk(CumulativeSet set, Triplet triplet, int stage,
+                                              int chunk, int chunks, CumulativeSet result) {
+        int size = set.size();
+        int weight = triplet.getFixedPointWeight();
+        int firstFrom = (int) ((long) chunk * size / chunks);
+        int firstTo = (int) ((long) (chunk + 1) * size / chunks);
+
+        int extendFrom = chunk == 0 ? 0 : this.lowerBound(set, set.getWeight(firstFrom) - weight);
+        int extendTo = chunk == chunks - 1 ? size : this.lowerBound(set, set.getWeight(firstTo) - weight);
+        extendTo = Math.min(extendTo, this.lowerBound(set, set.getMaximumCapacity() - weight + 1));
+
+        CumulativeSet extended = set.newEmptySet(Math.max(extendTo - extendFrom, 0));
+        for (int i = extendFrom; i < extendTo; i++)
+            extended.addExtension(set, i, set.getWeight(i) + weight, set.getCost(i) + triplet.getCost(), stage);
+
+        CumulativeSet chunkResult = result.newEmptySet(firstTo - firstFrom + extended.size());
+        new Merger().merge(set, firstFrom, firstTo, extended, 0, extended.size(), extendFrom, chunkResult);
+        return chunkResult;
+    }
+
+    /**
+     * @param set    set sorted by weight.
+     * @param weight weight in hundredths to look for.
+     * @return index of the first state not lighter than given weight, or set size when all are lighter.
+     */
+    private int lowerBound(CumulativeSet set, int weight) {
+        int low = 0;
+        int high = set.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (set.getWeight(middle) < weight)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,126 @@
+package com.code.challenge.service;
+
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.CumulativeSet;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Linked cumulative sets of one items list built for a highest capacity, answering any capacity up to it.
+ * <p>
+ * Cutting every set at a lower capacity leaves the sets a solve with that capacity builds, and states keep their
+ * indices and links. So the optimal state for a capacity is the heaviest state of the last set fitting it, found by
+ * binary search, and following links from it gives the same items as CumulativePacking solving that capacity.
+ * <p>
+ * States of the last set are the points of the frontier: no other items set fitting maximum capacity is as light and
+ * at least as costly. Points are exported as weight and cost arrays in increasing order, and the items of any point
+ * are read by its index. A frontier is not modified by queries and can be shared by threads.
+ */
+public class ParetoFrontier {
+    private final List<Triplet> triplets;
+    private final List<CumulativeSet> sets;
+    private final int maxCapacity;
+
+    /**
+     * @param triplets    items in stage order, sentinel at stage 0.
+     * @param sets        linked cumulative sets of all stages, built without bound pruning.
+     * @param maxCapacity capacity sets were built for.
+     */
+    ParetoFrontier(List<Triplet> triplets, List<CumulativeSet> sets, int maxCapacity) {
+        this.triplets = triplets;
+        this.sets = sets;
+        this.maxCapacity = maxCapacity;
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * @return number of points of the frontier.
+     */
+    public int size() {
+        return this.getLastSet().size();
+    }
+
+    /**
+     * @return weights of points in hundredths, strictly increasing, a new array on every call.
+     */
+    public int[] getWeights() {
+        CumulativeSet lastSet = this.getLastSet();
+        int[] weights = new int[lastSet.size()];
+        for (int i = 0; i < weights.length; i++)
+            weights[i] = lastSet.getWeight(i);
+        return weights;
+    }
+
+    /**
+     * @return costs of points, strictly increasing, a new array on every call.
+     */
+    public int[] getCosts() {
+        CumulativeSet lastSet = this.getLastSet();
+        int[] costs = new int[lastSet.size()];
+        for (int i = 0; i < costs.length; i++)
+            costs[i] = lastSet.getCost(i);
+        return costs;
+    }
+
+    /**
+     * Read items of a point by following links from it.
+     *
+     * @param index index of the point, as in weights and costs arrays.
+     * @return items reaching weight and cost of the point, items of later stages first.
+     * @throws APIException when there is no point of given index.
+     */
+    public List<Triplet> getPointTriplets(int index) throws APIException {
+        if (index < 0 || index >= this.size())
+            throw new APIException(String.format("Invalid parameter: point index must be between 0 and %d", this.size() - 1));
+        return CumulativePacking.followLinks(triplets, sets, index);
+    }
+
+    /**
+     * Find optimal items for a capacity with a binary search and a walk along links.
+     *
+     * @param capacity package capacity, from 0 to maximum capacity of this frontier.
+     * @return optimal triplets list
+     * @throws APIException when capacity is negative or higher than maximum capacity.
+     */
+    public List<Triplet> getOptimalTriplets(int capacity) throws APIException {
+        if (capacity < 0 || capacity > maxCapacity)
+            throw new APIException(String.format("Invalid parameter: capacity must be between 0 and %d", maxCapacity));
+
+        CumulativeSet lastSet = this.getLastSet();
+        int fixedPointCapacity = AbstractPacking.toFixedPointCapacity(capacity);
+        int low = 0;
+        int high = lastSet.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lastSet.getWeight(middle) <= fixedPointCapacity)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return CumulativePacking.followLinks(triplets, sets, low - 1);
+    }
+
+    /**
+     * @param capacity package capacity, from 0 to maximum capacity of this frontier.
+     * @return Selected triplet item ids in a comma delimited string and - for empty strings.
+     * @throws APIException when capacity is negative or higher than maximum capacity.
+     */
+    public String getOptimalItemIdsInString(int capacity) throws APIException {
+        String output = this.getOptimalTriplets(capacity).stream()
+                .map(Triplet::getId)
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+
+        return Util.defaultIfEmpty(output, "-");
+    }
+
+    private CumulativeSet getLastSet() {
+        return sets.get(sets.size() - 1);
+    }
+}
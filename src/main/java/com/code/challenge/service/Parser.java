@@ -1,18 +1,26 @@
 package com.code.challenge.service;
 
+import com.code.challenge.event.ParseFileEvent;
+import com.code.challenge.event.ParseLineEvent;
 import com.code.challenge.exception.APIException;
 import com.code.challenge.model.Problem;
 import com.code.challenge.model.Triplet;
+import com.code.challenge.utility.Util;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Parse packing input file.
@@ -25,6 +33,8 @@ public class Parser {
 
     private static Parser parser;
 
+    private volatile PackingMetrics metrics = PackingMetrics.NONE;
+
     private Parser() {
     }
 
@@ -42,6 +52,19 @@ public class Parser {
         return parser;
     }
 
+    /**
+     * Set metrics told the parse time of every line, for all users of the parser.
+     *
+     * @param metrics metrics to record to, PackingMetrics.NONE to record nothing.
+     */
+    public void setMetrics(PackingMetrics metrics) {
+        this.metrics = metrics == null ? PackingMetrics.NONE : metrics;
+    }
+
+    public PackingMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Parse given input file with problem definition to A list of Problems
      * Problem instances correspond to each line defined in the file.
@@ -53,6 +76,8 @@ public class Parser {
     public List<Problem> parse(String filePath) throws APIException {
         this.validateFilePath(filePath);
 
+        ParseFileEvent event = new ParseFileEvent();
+        event.begin();
         List<Problem> problems;
         try {
             problems = Files.lines(Paths.get(filePath))
@@ -61,10 +86,85 @@ public class Parser {
         } catch (IOException e) {
             throw new APIException(e);
         }
+        commit(event, filePath, problems.size());
 
         return problems;
     }
 
+    /**
+     * Parse given input file lazily, a line is only read and converted to a Problem
+     * when the stream reaches it. Stream must be closed to release the file, closing it commits
+     * the Flight Recorder event of the file with the lines read so far.
+     *
+     * @param filePath path to input problem file.
+     * @return Stream of problems corresponding to lines defined in input file.
+     * @throws APIException when file can not be opened, or later from the stream when a line can not be parsed.
+     */
+    public Stream<Problem> stream(Path filePath) throws APIException {
+        this.validateFilePath(filePath == null ? null : filePath.toString());
+
+        try {
+            return commitOnClose(Files.lines(filePath).map(this::lineToProblem), filePath);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Parse given input file by memory mapping it and parsing chunks of it in parallel on the common
+     * fork-join pool, see streamMapped(Path, int). Problems are in the same order as parse(String) returns.
+     *
+     * @param filePath path to input problem file.
+     * @return List of problem corresponding to what defined in input file.
+     * @throws APIException when file can not be read or a line can not be parsed, message tells the line number.
+     */
+    public List<Problem> parseMapped(String filePath) throws APIException {
+        this.validateFilePath(filePath);
+
+        try (Stream<Problem> problems = this.streamMapped(Paths.get(filePath), MappedFileParser.DEFAULT_CHUNK_SIZE)) {
+            return problems.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Parse given input file by memory mapping it, chunks of given size split at line boundaries are
+     * parsed in parallel on the common fork-join pool, a few chunks per thread at a time.
+     * Well formed lines are read straight from mapped bytes without decoding them to Strings.
+     * Problems are returned in input order and memory does not grow with file size.
+     * Stream must be closed to release the file, closing it commits the Flight Recorder event of the file.
+     *
+     * @param filePath  path to input problem file.
+     * @param chunkSize number of bytes parsed by one task.
+     * @return Stream of problems corresponding to lines defined in input file.
+     * @throws APIException when file can not be opened or chunk size is not positive, or later from the stream
+     *                      when file can not be read or a line can not be parsed, message tells the line number.
+     */
+    public Stream<Problem> streamMapped(Path filePath, int chunkSize) throws APIException {
+        this.validateFilePath(filePath == null ? null : filePath.toString());
+        if (chunkSize < 1)
+            throw new APIException("Invalid parameter: chunk size must be positive");
+
+        try {
+            return commitOnClose(new MappedFileParser(this, filePath, chunkSize).stream(), filePath);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Parse problems lazily from a character stream, a line is only read and converted to a Problem
+     * when the stream reaches it.
+     *
+     * @param reader source of problem lines.
+     * @return Stream of problems corresponding to lines read from reader.
+     */
+    public Stream<Problem> stream(Reader reader) {
+        BufferedReader bufferedReader = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        return bufferedReader.lines().map(this::lineToProblem);
+    }
+
     /**
      * Validate if given file exists.
      * @param filePath Path to input file.
@@ -83,19 +183,93 @@ public class Parser {
     }
 
     /**
-     * Convert a string line from file to Problem object
+     * Convert a string line from file to Problem object, telling metrics and Flight Recorder the time it took.
      * @param line a line read from input file.
      * @return Problem object corresponding to given line.
      */
-    private Problem lineToProblem(String line) {
+    Problem lineToProblem(String line) {
+        PackingMetrics metrics = this.metrics;
+        ParseLineEvent event = new ParseLineEvent();
+        event.begin();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        Problem problem = this.parseLine(line);
+        recordLine(metrics, start, event, line.length(), problem);
+        return problem;
+    }
+
+    /**
+     * Tell metrics and Flight Recorder a line was parsed.
+     *
+     * @param metrics metrics to record to.
+     * @param start   System.nanoTime() when parsing started, ignored when metrics are off.
+     * @param event   event begun when parsing started, committed only when Flight Recorder wants it.
+     * @param length  length of the line.
+     * @param problem parsed problem.
+     */
+    static void recordLine(PackingMetrics metrics, long start, ParseLineEvent event, int length, Problem problem) {
+        if (metrics.isEnabled())
+            metrics.onLineParsed(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.setLength(length);
+            event.setItems(problem.getTriplets().size());
+            event.commit();
+        }
+    }
+
+    private static void commit(ParseFileEvent event, String filePath, int lines) {
+        if (event.shouldCommit()) {
+            event.setPath(filePath);
+            event.setLines(lines);
+            event.commit();
+        }
+    }
+
+    /**
+     * Begin a Flight Recorder event of parsing given file, committed when given stream is closed with the number of
+     * problems it returned. Problems are only counted while the event is enabled.
+     *
+     * @param problems stream of problems of the file.
+     * @param filePath path to input problem file.
+     * @return stream of the same problems.
+     */
+    private static Stream<Problem> commitOnClose(Stream<Problem> problems, Path filePath) {
+        ParseFileEvent event = new ParseFileEvent();
+        if (!event.isEnabled())
+            return problems;
+
+        event.begin();
+        AtomicInteger lines = new AtomicInteger();
+        return problems
+                .peek(problem -> lines.incrementAndGet())
+                .onClose(() -> commit(event, filePath.toString(), lines.get()));
+    }
+
+    /**
+     * Convert a string line from file to Problem object.
+     * Well formed lines are read in a single pass by LineScanner, any other line goes through
+     * the line and triplet patterns, so accepted lines and parse errors stay the same.
+     * @param line a line read from input file.
+     * @return Problem object corresponding to given line.
+     * @throws APIException when line does not match the pattern, a weight has more than two decimals
+     *                      or a number does not fit an int.
+     */
+    Problem parseLine(String line) {
+
+        Problem problem = new LineScanner(line).scan();
+        if (problem != null)
+            return problem;
 
         if (!this.validateProblemInString(line))
             throw new APIException(String.format("Can not parse line: %s ", line));
 
-        int capacity = getCapacityFromStringProblem(line);
-        List<Triplet> triplets = getTuplesFromStringProblem(line);
-
-        return new Problem(capacity, triplets);
+        try {
+            int capacity = getCapacityFromStringProblem(line);
+            List<Triplet> triplets = getTuplesFromStringProblem(line);
+            return new Problem(capacity, triplets);
+        } catch (NumberFormatException e) {
+            throw new APIException(String.format("Can not parse line: %s ", line), e);
+        }
     }
 
     /**
@@ -131,9 +305,9 @@ public class Parser {
         Matcher tripletMatcher = tripletPattern.matcher(stringTriplets);
         List<Triplet> triplets = new ArrayList<>();
         while (tripletMatcher.find()) {
-            Triplet triplet = new Triplet(
+            Triplet triplet = Triplet.withFixedPointWeight(
                     Integer.parseInt(tripletMatcher.group("id")),
-                    Float.parseFloat(tripletMatcher.group("weight")),
+                    Util.parseFixedPoint(tripletMatcher.group("weight")),
                     Integer.parseInt(tripletMatcher.group("cost")));
             triplets.add(triplet);
         }
@@ -0,0 +1,22 @@
+package com.code.challenge.service;
+
+/**
+ * Define how the backward pass of CumulativePacking rebuilds the optimal item sequence.
+ */
+public enum Reconstruction {
+    /**
+     * Look up cumulative states in every previous set, an item is in solution when its
+     * state is not found in the preceding set.
+     */
+    SCAN,
+    /**
+     * Each state records its predecessor index and whether the stage item was taken,
+     * backward pass only follows these links.
+     */
+    LINKS,
+    /**
+     * Bounded memory mode: only the cumulative set of the current stage is kept and each state
+     * carries a bitset of the items taken to reach it, backward pass reads the optimal state's bitset.
+     */
+    ITEM_SETS
+}
@@ -0,0 +1,174 @@
+package com.code.challenge.service;
+
+import com.code.challenge.event.FormatSolutionEvent;
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Triplet;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Streaming alternative to getOptimalItemIdsInString and NewLineFormatter: solutions are written in the same text,
+ * item ids separated by ", ", - for no item and solutions separated by line separator, straight into a reusable char
+ * buffer handed to a Writer in large blocks. Ids are encoded digit by digit, so writing a solution allocates nothing.
+ * Writing the items of a solution is a format, timed for the metrics given and recorded as a FormatSolutionEvent;
+ * its time includes handing a full buffer to the Writer. A writer is not thread safe.
+ */
+public class SolutionWriter implements Flushable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 << 10;
+    private static final int MINIMUM_BUFFER_SIZE = 64;
+    /**
+     * Characters of the longest id and its separator, "-2147483648, ".
+     */
+    private static final int MAX_ID_LENGTH = 13;
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    private final Writer writer;
+    private final PackingMetrics metrics;
+    private final char[] buffer;
+    private int size;
+    private boolean first = true;
+
+    public SolutionWriter(Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SolutionWriter(Writer writer, int bufferSize) throws APIException {
+        this(writer, bufferSize, PackingMetrics.NONE);
+    }
+
+    /**
+     * @param writer     destination of solutions, flushed but not closed.
+     * @param bufferSize number of chars buffered before they are written.
+     * @param metrics    metrics told the time to format each solution of items.
+     * @throws APIException when buffer size is lower than 64.
+     */
+    public SolutionWriter(Writer writer, int bufferSize, PackingMetrics metrics) throws APIException {
+        if (bufferSize < MINIMUM_BUFFER_SIZE)
+            throw new APIException(String.format("Invalid parameter: buffer size must be at least %d", MINIMUM_BUFFER_SIZE));
+        this.writer = writer;
+        this.metrics = metrics;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Write ids of optimal items as getOptimalItemIdsInString formats them, after a line separator unless first.
+     *
+     * @param solution optimal triplets list.
+     * @throws APIException when writer fails.
+     */
+    public void write(List<Triplet> solution) throws APIException {
+        FormatSolutionEvent event = new FormatSolutionEvent();
+        event.begin();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        this.startSolution();
+        if (solution.isEmpty()) {
+            this.reserve(1);
+            buffer[size++] = '-';
+        }
+        for (int i = 0; i < solution.size(); i++) {
+            this.reserve(MAX_ID_LENGTH);
+            if (i > 0) {
+                buffer[size++] = ',';
+                buffer[size++] = ' ';
+            }
+            this.putInt(solution.get(i).getId());
+        }
+
+        if (metrics.isEnabled())
+            metrics.onFormat(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.setItems(solution.size());
+            event.commit();
+        }
+    }
+
+    /**
+     * Write a solution already formatted, after a line separator unless first. Nothing is timed, formatting
+     * was done by the caller.
+     *
+     * @param solution formatted solution.
+     * @throws APIException when writer fails.
+     */
+    public void write(String solution) throws APIException {
+        this.startSolution();
+        for (int from = 0; from < solution.length(); ) {
+            this.reserve(1);
+            int to = Math.min(solution.length(), from + buffer.length - size);
+            solution.getChars(from, to, buffer, size);
+            size += to - from;
+            from = to;
+        }
+    }
+
+    /**
+     * Hand buffered chars to the writer and flush it.
+     *
+     * @throws APIException when writer fails.
+     */
+    @Override
+    public void flush() throws APIException {
+        this.drain();
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    private void startSolution() {
+        if (first) {
+            first = false;
+            return;
+        }
+        this.reserve(LINE_SEPARATOR.length);
+        for (char c : LINE_SEPARATOR)
+            buffer[size++] = c;
+    }
+
+    /**
+     * Append decimal digits of a number, enough room being reserved.
+     *
+     * @param value number to append.
+     */
+    private void putInt(int value) {
+        long remaining = value;
+        if (remaining < 0) {
+            buffer[size++] = '-';
+            remaining = -remaining;
+        }
+        int end = size + digits(remaining);
+        for (int i = end - 1; i >= size; i--) {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        size = end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long limit = 10; value >= limit && digits < 19; limit *= 10)
+            digits++;
+        return digits;
+    }
+
+    /**
+     * Make room for given number of chars, handing buffered chars to the writer when they do not fit.
+     */
+    private void reserve(int length) {
+        if (size + length > buffer.length)
+            this.drain();
+    }
+
+    private void drain() {
+        try {
+            writer.write(buffer, 0, size);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+        size = 0;
+    }
+}
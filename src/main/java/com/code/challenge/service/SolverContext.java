@@ -0,0 +1,157 @@
+package com.code.challenge.service;
+
+import com.code.challenge.model.CumulativeSet;
+import com.code.challenge.model.Triplet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers of a forward pass kept between solves: items in stage order, the sort arrays ordering them, the cumulative
+ * set of every stage, the extended set and the merger. Buffers grow to the largest problem solved and are cleared,
+ * not allocated, by the next one, so consecutive problems of the same shape are solved without allocating anything
+ * but their solution, see CumulativePacking.getOptimalTriplets(Problem, SolverContext).
+ * <p>
+ * A context keeps the memory of the largest problem it solved. It is not thread safe, each solving thread owns one.
+ */
+public class SolverContext {
+    /**
+     * Number of items sorted by insertion before runs are merged.
+     */
+    private static final int INSERTION_SORT_RUN = 32;
+    private static final int DEFAULT_SET_CAPACITY = 64;
+    private static final Triplet SENTINEL = Triplet.withFixedPointWeight(0, 0, 0);
+
+    private final List<Triplet> triplets = new ArrayList<>();
+    private Triplet[] sorted = new Triplet[INSERTION_SORT_RUN];
+    private Triplet[] sortBuffer = new Triplet[INSERTION_SORT_RUN];
+    private final List<CumulativeSet> sets = new ArrayList<>();
+    private final List<CumulativeSet> setPool = new ArrayList<>();
+    private final CumulativeSet extendedSet = new CumulativeSet(0, DEFAULT_SET_CAPACITY);
+    private final Merger merger = new Merger();
+
+    /**
+     * Prepare items the way CumulativePacking prepares a problem, without modifying given items: sentinel first,
+     * then items fitting capacity sorted by ratio order, equal ratios keeping their order.
+     *
+     * @param items    items of a problem, not modified.
+     * @param capacity capacity in hundredths.
+     * @return reused list of items in stage order, valid until the next solve.
+     */
+    List<Triplet> prepareTriplets(List<Triplet> items, int capacity) {
+        if (sorted.length < items.size()) {
+            sorted = new Triplet[items.size()];
+            sortBuffer = new Triplet[items.size()];
+        }
+        int size = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Triplet triplet = items.get(i);
+            if (triplet.getFixedPointWeight() <= capacity)
+                sorted[size++] = triplet;
+        }
+
+        Triplet[] result = this.sortByRatio(size);
+        triplets.clear();
+        triplets.add(SENTINEL);
+        for (int i = 0; i < size; i++)
+            triplets.add(result[i]);
+        return triplets;
+    }
+
+    /**
+     * Remove cumulative sets of the previous solve, keeping them for reuse.
+     *
+     * @return reused list of cumulative sets, empty.
+     */
+    List<CumulativeSet> clearSets() {
+        sets.clear();
+        return sets;
+    }
+
+    /**
+     * Append an empty cumulative set for the next stage, reusing the set that stage had in a previous solve.
+     *
+     * @param capacity capacity in hundredths.
+     * @param linked   true to record predecessor links of states.
+     * @return empty set appended to the list returned by clearSets.
+     */
+    CumulativeSet addSet(int capacity, boolean linked) {
+        int stage = sets.size();
+        if (stage == setPool.size())
+            setPool.add(new CumulativeSet(capacity, DEFAULT_SET_CAPACITY, linked));
+        else if (setPool.get(stage).isLinked() != linked)
+            setPool.set(stage, new CumulativeSet(capacity, DEFAULT_SET_CAPACITY, linked));
+
+        CumulativeSet set = setPool.get(stage);
+        set.clear(capacity);
+        sets.add(set);
+        return set;
+    }
+
+    /**
+     * @param capacity capacity in hundredths.
+     * @return reusable set for the extended states of a stage, empty.
+     */
+    CumulativeSet getExtendedSet(int capacity) {
+        extendedSet.clear(capacity);
+        return extendedSet;
+    }
+
+    Merger getMerger() {
+        return merger;
+    }
+
+    /**
+     * Stable sort of the first items of the sorted array in ratio order: runs sorted by insertion, then merged
+     * back and forth between the sorted array and the sort buffer.
+     *
+     * @param size number of items to sort.
+     * @return array holding sorted items, either the sorted array or the sort buffer.
+     */
+    private Triplet[] sortByRatio(int size) {
+        for (int from = 0; from < size; from += INSERTION_SORT_RUN)
+            insertionSort(sorted, from, Math.min(size, from + INSERTION_SORT_RUN));
+
+        Triplet[] source = sorted;
+        Triplet[] target = sortBuffer;
+        for (int width = INSERTION_SORT_RUN; width < size; width <<= 1) {
+            for (int from = 0; from < size; from += width << 1)
+                merge(source, target, from, Math.min(size, from + width), Math.min(size, from + (width << 1)));
+            Triplet[] swapped = source;
+            source = target;
+            target = swapped;
+        }
+        return source;
+    }
+
+    private static void insertionSort(Triplet[] items, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            Triplet triplet = items[i];
+            int j = i - 1;
+            for (; j >= from && compareRatio(items[j], triplet) > 0; j--)
+                items[j + 1] = items[j];
+            items[j + 1] = triplet;
+        }
+    }
+
+    /**
+     * Merge two sorted ranges of source into target, taking from the first range on equal ratios.
+     */
+    private static void merge(Triplet[] source, Triplet[] target, int from, int middle, int to) {
+        int first = from;
+        int second = middle;
+        for (int i = from; i < to; i++) {
+            if (second >= to || first < middle && compareRatio(source[first], source[second]) <= 0)
+                target[i] = source[first++];
+            else
+                target[i] = source[second++];
+        }
+    }
+
+    /**
+     * Same order as RATIO_ORDER, without boxing ratios.
+     */
+    private static int compareRatio(Triplet first, Triplet second) {
+        return Float.compare(second.getRatio(), first.getRatio());
+    }
+}
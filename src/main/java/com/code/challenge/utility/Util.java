@@ -1,12 +1,14 @@
 package com.code.challenge.utility;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 /**
  * General purpose functions.
  */
 public class Util {
+    /**
+     * Weights are kept as fixed point integers in hundredths, input files define weights with two decimal points.
+     */
+    public static final int WEIGHT_SCALE = 100;
+
     /**
      * Return String value or if it's empty return a default value.
      * @param string string value to return value.
@@ -18,13 +20,57 @@ public class Util {
     }
 
     /**
-     * round float value with two decimal points precision.
-     * @param value float value to round.
-     * @return rounded float value.
+     * Convert a float weight to fixed point hundredths, rounding to the nearest hundredth.
+     * @param weight float weight value.
+     * @return weight in hundredths.
      */
-    public static float round(float value) {
-        BigDecimal bd = new BigDecimal(value);
-        bd = bd.setScale(2, RoundingMode.HALF_UP);
-        return bd.floatValue();
+    public static int toFixedPoint(float weight) {
+        return Math.round(weight * WEIGHT_SCALE);
+    }
+
+    /**
+     * Convert a fixed point weight in hundredths back to float.
+     * @param weight weight in hundredths.
+     * @return float weight value.
+     */
+    public static float fromFixedPoint(int weight) {
+        return (float) weight / WEIGHT_SCALE;
+    }
+
+    /**
+     * Parse a decimal string such as "53.38" to fixed point hundredths without going through float.
+     * Weights are defined with at most two decimals, more are rejected rather than rounded, so a weight
+     * such as "100.004" can not pass the limit it exceeds.
+     * @param value decimal string made of digits and at most one dot followed by at most two digits.
+     * @return weight in hundredths.
+     * @throws NumberFormatException when value is not a decimal number or has more than two decimals.
+     */
+    public static int parseFixedPoint(String value) {
+        int dot = value.indexOf('.');
+        int integerEnd = dot < 0 ? value.length() : dot;
+        if (integerEnd == 0)
+            throw new NumberFormatException(String.format("Invalid decimal value: %s", value));
+        if (dot >= 0 && value.length() - dot - 1 > 2)
+            throw new NumberFormatException(String.format("Invalid decimal value, more than 2 decimals: %s", value));
+
+        long fixedPoint = 0;
+        for (int i = 0; i < integerEnd && fixedPoint <= Integer.MAX_VALUE; i++)
+            fixedPoint = fixedPoint * 10 + digit(value, i);
+
+        int fraction = 0;
+        for (int i = dot + 1, scale = WEIGHT_SCALE / 10; dot >= 0 && i < value.length(); i++, scale /= 10)
+            fraction += digit(value, i) * scale;
+
+        fixedPoint = fixedPoint * WEIGHT_SCALE + fraction;
+        if (fixedPoint > Integer.MAX_VALUE)
+            throw new NumberFormatException(String.format("Decimal value out of range: %s", value));
+        return (int) fixedPoint;
+    }
+
+    private static int digit(String value, int index) {
+        char c = value.charAt(index);
+        if (c < '0' || c > '9')
+            throw new NumberFormatException(String.format("Invalid decimal value: %s", value));
+        return c - '0';
     }
 }
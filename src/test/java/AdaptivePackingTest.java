@@ -0,0 +1,52 @@
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.AdaptivePacking;
+import com.code.challenge.service.CapacityIndexedPacking;
+import com.code.challenge.service.CumulativePacking;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptivePackingTest {
+
+    @Test
+    public void selectCapacityIndexedPackingWhenWeightsAreWholeNumbers(){
+        Problem problem = new Problem(75);
+        problem.getTriplets().add(new Triplet(1, 85f, 29));
+        problem.getTriplets().add(new Triplet(2, 14f, 74));
+        problem.getTriplets().add(new Triplet(3, 3f, 16));
+
+        assertTrue(new AdaptivePacking().selectEngine(problem) instanceof CapacityIndexedPacking);
+    }
+
+    @Test
+    public void selectCumulativePackingWhenWeightsHaveHundredths(){
+        Problem problem = new Problem(100);
+        problem.getTriplets().add(new Triplet(1, 85.31f, 29));
+        problem.getTriplets().add(new Triplet(2, 14.55f, 74));
+
+        assertTrue(new AdaptivePacking().selectEngine(problem) instanceof CumulativePacking);
+    }
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenAnyEngineSelected(){
+        Random random = new Random(19);
+        for (int problemIndex = 0; problemIndex < 1000; problemIndex++) {
+            int capacity = random.nextInt(101);
+            int weightUnit = new int[]{1, 10, 100}[random.nextInt(3)];
+            List<Triplet> triplets = IntStream.rangeClosed(1, 1 + random.nextInt(15))
+                    .mapToObj(i -> Triplet.withFixedPointWeight(i, weightUnit * (1 + random.nextInt(10000 / weightUnit)), 1 + random.nextInt(100)))
+                    .collect(Collectors.toList());
+
+            String expected = TestProblems.cumulativeItemIds(capacity, triplets);
+            String result = new AdaptivePacking().getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+
+            assertEquals(expected, result, capacity + " " + triplets);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.packer.Converter;
+import com.code.challenge.packer.Packer;
+import com.code.challenge.service.BinaryProblemReader;
+import com.code.challenge.service.BinaryProblemWriter;
+import com.code.challenge.service.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryProblemTest {
+    private final File multiLineInputFile = new File(BinaryProblemTest.class.getClassLoader()
+            .getResource("multiline_problem.txt").getFile());
+
+    @Test
+    public void returnSameProblemsWhenWrittenAndRead() {
+        List<Problem> problems = new ArrayList<>(Parser.getInstance().parse(multiLineInputFile.getAbsolutePath()));
+        problems.add(new Problem(0));
+        problems.add(new Problem(Integer.MAX_VALUE, new ArrayList<>(Arrays.asList(
+                Triplet.withFixedPointWeight(Integer.MAX_VALUE, 16384, 128),
+                Triplet.withFixedPointWeight(0, 1, Integer.MAX_VALUE)))));
+
+        List<Problem> readProblems = new ArrayList<>();
+        new BinaryProblemReader(ByteBuffer.wrap(write(problems))).forEachRemaining(readProblems::add);
+
+        assertEquals(problems.size(), readProblems.size());
+        for (int i = 0; i < problems.size(); i++) {
+            assertEquals(problems.get(i).getMaxCapacity(), readProblems.get(i).getMaxCapacity());
+            assertEquals(problems.get(i).getTriplets(), readProblems.get(i).getTriplets());
+            assertEquals(ids(problems.get(i)), ids(readProblems.get(i)));
+        }
+    }
+
+    @Test
+    public void writeSameResultsAsTextWhenConvertedFilePacked() throws Exception {
+        Path binaryFile = Files.createTempFile("multiline_problem", ".bin");
+        try {
+            assertEquals(4, Converter.convert(multiLineInputFile.toPath(), binaryFile));
+            assertTrue(BinaryProblemReader.isBinary(binaryFile));
+            assertTrue(Files.size(binaryFile) < Files.size(multiLineInputFile.toPath()) / 3);
+
+            String expected = Packer.pack(multiLineInputFile.getAbsolutePath());
+            assertEquals(expected, Packer.pack(binaryFile.toString()));
+            assertEquals(expected, Packer.pack(binaryFile.toString(), 2));
+            StringWriter writer = new StringWriter();
+            Packer.packInBatches(binaryFile, writer, 2);
+            assertEquals(expected, writer.toString());
+        } finally {
+            Files.delete(binaryFile);
+        }
+    }
+
+    @Test
+    public void returnFalseWhenTextFileChecked() {
+        assertFalse(BinaryProblemReader.isBinary(multiLineInputFile.toPath()));
+        assertFalse(BinaryProblemReader.isBinary(multiLineInputFile.toPath().resolveSibling("missing.bin")));
+    }
+
+    @Test
+    public void throwApiExceptionWhenRecordIsTruncated() throws Exception {
+        byte[] bytes = write(Parser.getInstance().parse(multiLineInputFile.getAbsolutePath()));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        Path binaryFile = Files.createTempFile("truncated_problem", ".bin");
+        try {
+            Files.write(binaryFile, truncated);
+
+            APIException exception = assertThrows(APIException.class, () -> {
+                try (Stream<Problem> problems = BinaryProblemReader.stream(binaryFile)) {
+                    problems.forEach(problem -> {
+                    });
+                }
+            });
+            assertTrue(exception.getMessage().contains("truncated"), exception.getMessage());
+        } finally {
+            Files.delete(binaryFile);
+        }
+    }
+
+    @Test
+    public void throwApiExceptionWhenHeaderIsMissing() {
+        assertThrows(APIException.class, () -> new BinaryProblemReader(ByteBuffer.wrap(new byte[]{'8', '1', ' ', ':'})));
+    }
+
+    @Test
+    public void throwApiExceptionWhenNumberIsNegative() {
+        BinaryProblemWriter writer = new BinaryProblemWriter(new ByteArrayOutputStream());
+
+        assertThrows(APIException.class, () -> writer.write(new Problem(-1)));
+    }
+
+    private static byte[] write(List<Problem> problems) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryProblemWriter writer = new BinaryProblemWriter(output)) {
+            problems.forEach(writer::write);
+        }
+        return output.toByteArray();
+    }
+
+    private static List<Integer> ids(Problem problem) {
+        return problem.getTriplets().stream().map(Triplet::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,63 @@
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.BranchAndBoundPacking;
+import com.code.challenge.service.CostIndexedPacking;
+import com.code.challenge.service.PackingLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BranchAndBoundPackingTest {
+
+    @Test
+    public void returnItemWithLessWeightWhenTwoItemOfSameCost(){
+        Problem problem = new Problem(10);
+        problem.getTriplets().add(new Triplet(1, 10.0f, 100));
+        problem.getTriplets().add(new Triplet(2, 9.99f, 100));
+
+        String result = new BranchAndBoundPacking().getOptimalItemIdsInString(problem);
+
+        assertEquals("2", result);
+    }
+
+    @Test
+    public void returnEmptyListWhenItemsNotFittingPackageCapacity(){
+        Problem problem = new Problem(5);
+        problem.getTriplets().add(new Triplet(1, 10.0f, 100));
+
+        String result = new BranchAndBoundPacking().getOptimalItemIdsInString(problem);
+
+        assertEquals("-", result);
+    }
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenProblemsSolved(){
+        Random random = new Random(23);
+        PackingLimits limits = new PackingLimits(40, 100, 100);
+        for (int problemIndex = 0; problemIndex < 2000; problemIndex++) {
+            int capacity = random.nextInt(101);
+            int maxCost = random.nextBoolean() ? 5 : 100;
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(40), maxCost);
+
+            String expected = TestProblems.cumulativeItemIds(limits, capacity, triplets);
+            String result = new BranchAndBoundPacking(limits).getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+
+            assertEquals(expected, result, capacity + " " + triplets);
+        }
+    }
+
+    @Test
+    public void returnSameItemsAsCostIndexedPackingWhenProblemHasThousandsOfItems(){
+        Random random = new Random(29);
+        PackingLimits limits = new PackingLimits(5000, 100, 100);
+        List<Triplet> triplets = TestProblems.randomTriplets(random, 5000, 100);
+
+        String expected = new CostIndexedPacking(limits).getOptimalItemIdsInString(TestProblems.problem(5000, triplets));
+        String result = new BranchAndBoundPacking(limits).getOptimalItemIdsInString(TestProblems.problem(5000, triplets));
+
+        assertEquals(expected, result);
+    }
+}
@@ -0,0 +1,130 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.CachingPacking;
+import com.code.challenge.service.CumulativePacking;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingPackingTest {
+
+    private static List<Integer> itemIds(List<Triplet> triplets) {
+        return triplets.stream().map(Triplet::getId).collect(Collectors.toList());
+    }
+
+    private static Problem problem(int capacity, Triplet... triplets) {
+        return new Problem(capacity, new ArrayList<>(Arrays.asList(triplets)));
+    }
+
+    @Test
+    public void returnSameSolutionAsWrappedPackingWhenProblemMissesCache(){
+        Problem problem = problem(81, new Triplet(1, 53.38f, 45), new Triplet(2, 88.62f, 98),
+                new Triplet(3, 78.48f, 3), new Triplet(4, 72.30f, 76), new Triplet(5, 30.18f, 9), new Triplet(6, 46.34f, 48));
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 16);
+
+        String result = serviceUnderTest.getOptimalItemIdsInString(problem);
+
+        assertEquals("4", result);
+        assertEquals(0, serviceUnderTest.getHitCount());
+        assertEquals(1, serviceUnderTest.getMissCount());
+    }
+
+    @Test
+    public void returnItemsOfGivenProblemWhenSameItemsInOtherOrderHitCache(){
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 16);
+        serviceUnderTest.getOptimalTriplets(problem(10, new Triplet(1, 4f, 10), new Triplet(2, 5f, 20), new Triplet(3, 6f, 25)));
+
+        List<Triplet> result = serviceUnderTest.getOptimalTriplets(
+                problem(10, new Triplet(7, 6f, 25), new Triplet(8, 4f, 10), new Triplet(9, 5f, 20)));
+
+        assertEquals(1, serviceUnderTest.getHitCount());
+        assertEquals(1, serviceUnderTest.getMissCount());
+        assertEquals(itemIds(new CumulativePacking().getOptimalTriplets(
+                problem(10, new Triplet(7, 6f, 25), new Triplet(8, 4f, 10), new Triplet(9, 5f, 20)))), itemIds(result));
+    }
+
+    @Test
+    public void returnSameSolutionAsWrappedPackingWhenItemsTieOnRatio(){
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 16);
+
+        String result = serviceUnderTest.getOptimalItemIdsInString(
+                problem(2, new Triplet(1, 2f, 2), new Triplet(2, 1f, 1), new Triplet(3, 1f, 1)));
+        String cached = serviceUnderTest.getOptimalItemIdsInString(
+                problem(2, new Triplet(1, 2f, 2), new Triplet(2, 1f, 1), new Triplet(3, 1f, 1)));
+
+        assertEquals("1", result);
+        assertEquals("1", cached);
+        assertEquals(1, serviceUnderTest.getHitCount());
+    }
+
+    @Test
+    public void returnSameSolutionAsWrappedPackingWhenRandomProblemsMissAndHitCache(){
+        Random random = new Random(71);
+        CumulativePacking packing = new CumulativePacking();
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 1000);
+        for (int problemIndex = 0; problemIndex < 200; problemIndex++) {
+            // Few distinct weights and costs give many equal ratios
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(15), 400, 4);
+            int capacity = random.nextInt(20);
+
+            String expected = packing.getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+
+            assertEquals(expected, serviceUnderTest.getOptimalItemIdsInString(TestProblems.problem(capacity, triplets)),
+                    triplets.toString());
+            assertEquals(expected, serviceUnderTest.getOptimalItemIdsInString(TestProblems.problem(capacity, triplets)),
+                    triplets.toString());
+        }
+        assertEquals(200, serviceUnderTest.getHitCount());
+    }
+
+    @Test
+    public void missCacheWhenCapacityDiffers(){
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 16);
+
+        String first = serviceUnderTest.getOptimalItemIdsInString(problem(10, new Triplet(1, 4f, 10), new Triplet(2, 7f, 20)));
+        String second = serviceUnderTest.getOptimalItemIdsInString(problem(5, new Triplet(1, 4f, 10), new Triplet(2, 7f, 20)));
+
+        assertEquals("2", first);
+        assertEquals("1", second);
+        assertEquals(2, serviceUnderTest.getMissCount());
+        assertEquals(2, serviceUnderTest.size());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedSolutionWhenCacheIsFull(){
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 2);
+        serviceUnderTest.getOptimalTriplets(problem(1, new Triplet(1, 1f, 1)));
+        serviceUnderTest.getOptimalTriplets(problem(2, new Triplet(1, 1f, 1)));
+        serviceUnderTest.getOptimalTriplets(problem(1, new Triplet(1, 1f, 1)));
+
+        serviceUnderTest.getOptimalTriplets(problem(3, new Triplet(1, 1f, 1)));
+        serviceUnderTest.getOptimalTriplets(problem(1, new Triplet(1, 1f, 1)));
+        serviceUnderTest.getOptimalTriplets(problem(2, new Triplet(1, 1f, 1)));
+
+        assertEquals(2, serviceUnderTest.getHitCount());
+        assertEquals(4, serviceUnderTest.getMissCount());
+        assertEquals(2, serviceUnderTest.getEvictionCount());
+        assertEquals(2, serviceUnderTest.size());
+    }
+
+    @Test
+    public void throwApiExceptionAndCacheNothingWhenProblemIsInvalid(){
+        CachingPacking serviceUnderTest = new CachingPacking(new CumulativePacking(), 16);
+
+        assertThrows(APIException.class,
+                () -> serviceUnderTest.getOptimalTriplets(problem(10, new Triplet(1, 4f, 101))));
+        assertEquals(0, serviceUnderTest.size());
+    }
+
+    @Test
+    public void throwApiExceptionWhenCacheCapacityIsNotPositive(){
+        assertThrows(APIException.class, () -> new CachingPacking(new CumulativePacking(), 0));
+    }
+}
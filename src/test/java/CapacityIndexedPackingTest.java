@@ -0,0 +1,67 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.CapacityIndexedPacking;
+import com.code.challenge.service.PackingLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CapacityIndexedPackingTest {
+
+    @Test
+    public void returnItemWithLessWeightWhenTwoItemOfSameCost(){
+        Problem problem = new Problem(10);
+        problem.getTriplets().add(new Triplet(1, 10.0f, 100));
+        problem.getTriplets().add(new Triplet(2, 9.99f, 100));
+
+        String result = new CapacityIndexedPacking().getOptimalItemIdsInString(problem);
+
+        assertEquals("2", result);
+    }
+
+    @Test
+    public void returnEmptyListWhenItemsNotFittingPackageCapacity(){
+        Problem problem = new Problem(5);
+        problem.getTriplets().add(new Triplet(1, 10.0f, 100));
+
+        String result = new CapacityIndexedPacking().getOptimalItemIdsInString(problem);
+
+        assertEquals("-", result);
+    }
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenProblemsSolved(){
+        Random random = new Random(17);
+        for (int problemIndex = 0; problemIndex < 2000; problemIndex++) {
+            int capacity = random.nextInt(101);
+            boolean wholeWeights = random.nextBoolean();
+            int maxCost = random.nextBoolean() ? 5 : 100;
+            List<Triplet> triplets = IntStream.rangeClosed(1, 1 + random.nextInt(15))
+                    .mapToObj(i -> Triplet.withFixedPointWeight(i,
+                            wholeWeights ? 100 * (1 + random.nextInt(100)) : 1 + random.nextInt(10000),
+                            1 + random.nextInt(maxCost)))
+                    .collect(Collectors.toList());
+
+            String expected = TestProblems.cumulativeItemIds(capacity, triplets);
+            String result = new CapacityIndexedPacking().getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+
+            assertEquals(expected, result, capacity + " " + triplets);
+        }
+    }
+
+    @Test
+    public void throwExceptionWhenCapacityTableIsTooLarge(){
+        Problem problem = new Problem(Integer.MAX_VALUE);
+        problem.getTriplets().add(new Triplet(1, 0.01f, 1));
+        problem.getTriplets().add(new Triplet(2, 0.02f, 1));
+
+        assertThrows(APIException.class,
+                () -> new CapacityIndexedPacking(new PackingLimits(2, 100, 100)).getOptimalTriplets(problem));
+    }
+}
@@ -2,9 +2,17 @@ import com.code.challenge.exception.APIException;
 import com.code.challenge.model.Problem;
 import com.code.challenge.model.Triplet;
 import com.code.challenge.service.CumulativePacking;
+import com.code.challenge.service.FrontierListener;
+import com.code.challenge.service.FrontierReport;
+import com.code.challenge.service.PackingLimits;
+import com.code.challenge.service.PackingMetrics;
+import com.code.challenge.service.Reconstruction;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -97,4 +105,180 @@ public class CumulativePackingTest {
     }
 
 
+    @Test
+    public void returnMaximumCostWhenExtendedStateHasSameWeightAsCumulativeState(){
+        Problem problem = new Problem(10);
+        problem.getTriplets().add(new Triplet(1,2.0f,2));
+        problem.getTriplets().add(new Triplet(2,2.0f,2));
+        problem.getTriplets().add(new Triplet(3,9.0f,8));
+        problem.getTriplets().add(new Triplet(4,7.0f,6));
+
+        CumulativePacking serviceUnderTest = new CumulativePacking();
+        List<Triplet> triplets = serviceUnderTest.getOptimalTriplets(problem);
+
+        assertEquals(8, triplets.stream().mapToInt(Triplet::getCost).sum());
+        assertEquals(900, triplets.stream().mapToInt(Triplet::getFixedPointWeight).sum());
+    }
+
+    @Test
+    public void returnItemsWithinCapacityWhenWeightsDoNotAddUpExactlyInFloat(){
+        Problem problem = new Problem(68);
+        float[] weights = {41.69f, 24.80f, 71.76f, 2.80f, 86.93f, 85.61f, 60.23f, 13.71f, 5.03f, 4.86f, 14.77f, 0.31f, 10.01f, 24.26f};
+        int[] costs = {75, 13, 45, 55, 65, 6, 49, 1, 91, 51, 38, 3, 72, 35};
+        for (int i = 0; i < weights.length; i++)
+            problem.getTriplets().add(new Triplet(i + 1, weights[i], costs[i]));
+
+        CumulativePacking serviceUnderTest = new CumulativePacking();
+        List<Triplet> triplets = serviceUnderTest.getOptimalTriplets(problem);
+
+        assertEquals(347, triplets.stream().mapToInt(Triplet::getCost).sum());
+        assertEquals(6470, triplets.stream().mapToInt(Triplet::getFixedPointWeight).sum());
+    }
+
+    @Test
+    public void returnSameItemsWhenAnyReconstructionUsed(){
+        Random random = new Random(42);
+        for (int problemIndex = 0; problemIndex < 500; problemIndex++) {
+            int capacity = 1 + random.nextInt(100);
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(15), 100);
+
+            List<Integer> expectedIds = null;
+            for (Reconstruction reconstruction : Reconstruction.values()) {
+                Problem problem = TestProblems.problem(capacity, triplets);
+                List<Integer> ids = new CumulativePacking(reconstruction).getOptimalTriplets(problem).stream()
+                        .map(Triplet::getId)
+                        .collect(Collectors.toList());
+                if (expectedIds == null)
+                    expectedIds = ids;
+                assertEquals(expectedIds, ids, reconstruction + " " + triplets);
+            }
+        }
+    }
+
+    @Test
+    public void returnSameItemsWhenOneInstanceSolvesConcurrently() throws Exception {
+        CumulativePacking serviceUnderTest = new CumulativePacking();
+        Random random = new Random(7);
+        List<List<Triplet>> problems = new ArrayList<>();
+        List<Integer> capacities = new ArrayList<>();
+        for (int problemIndex = 0; problemIndex < 2000; problemIndex++) {
+            capacities.add(1 + random.nextInt(100));
+            problems.add(TestProblems.randomTriplets(random, 1 + random.nextInt(15), 100));
+        }
+        List<String> expected = IntStream.range(0, problems.size())
+                .mapToObj(i -> serviceUnderTest.getOptimalItemIdsInString(TestProblems.problem(capacities.get(i), problems.get(i))))
+                .collect(Collectors.toList());
+
+        List<String> result = IntStream.range(0, problems.size())
+                .parallel()
+                .mapToObj(i -> serviceUnderTest.getOptimalItemIdsInString(TestProblems.problem(capacities.get(i), problems.get(i))))
+                .collect(Collectors.toList());
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void returnSameItemsWhenForwardPassRunsInParallel(){
+        Random random = new Random(11);
+        for (int problemIndex = 0; problemIndex < 300; problemIndex++) {
+            int capacity = 1 + random.nextInt(100);
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(15), 100);
+
+            for (Reconstruction reconstruction : Reconstruction.values()) {
+                String expected = new CumulativePacking(reconstruction)
+                        .getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+                for (int parallelThreshold : new int[]{1, 3, 8}) {
+                    String result = new CumulativePacking(reconstruction, parallelThreshold)
+                            .getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+                    assertEquals(expected, result, reconstruction + " " + parallelThreshold + " " + triplets);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void returnSameItemsWhenBoundPruningIsOn(){
+        Random random = new Random(37);
+        for (int problemIndex = 0; problemIndex < 1000; problemIndex++) {
+            int capacity = 1 + random.nextInt(100);
+            int maxCost = random.nextBoolean() ? 5 : 100;
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(15), maxCost);
+
+            for (Reconstruction reconstruction : Reconstruction.values()) {
+                String expected = new CumulativePacking(reconstruction)
+                        .getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+                String result = new CumulativePacking(reconstruction, Integer.MAX_VALUE, PackingLimits.DEFAULT, true,
+                        FrontierListener.NONE, PackingMetrics.NONE).getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+                assertEquals(expected, result, reconstruction + " " + triplets);
+            }
+        }
+    }
+
+    @Test
+    public void reportFewerStatesWhenBoundPruningIsOn(){
+        Random random = new Random(41);
+        List<Triplet> triplets = TestProblems.randomTriplets(random, 200, 100);
+        PackingLimits limits = new PackingLimits(200, 100, 100);
+        FrontierReport plainReport = new FrontierReport();
+        FrontierReport prunedReport = new FrontierReport();
+
+        String expected = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE, limits, false, plainReport, PackingMetrics.NONE)
+                .getOptimalItemIdsInString(TestProblems.problem(500, triplets));
+        String result = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE, limits, true, prunedReport, PackingMetrics.NONE)
+                .getOptimalItemIdsInString(TestProblems.problem(500, triplets));
+
+        assertEquals(expected, result);
+        assertEquals(201, prunedReport.getStages());
+        assertEquals(plainReport.getMeanMergedSize(200), plainReport.getMeanKeptSize(200));
+        assertTrue(prunedReport.getMeanKeptSize(200) * 10 < plainReport.getMeanKeptSize(200));
+    }
+
+    @Test
+    public void throwApiExceptionWhenParallelThresholdIsNotPositive(){
+        assertThrows(APIException.class, () -> new CumulativePacking(Reconstruction.LINKS, 0));
+    }
+
+    @Test
+    public void returnOptimalCostWhenLimitsAllowHundredsOfItems(){
+        Random random = new Random(13);
+        int capacity = 500;
+        List<Triplet> triplets = TestProblems.randomTriplets(random, 400, 20000, 1000);
+        int totalCost = triplets.stream().mapToInt(Triplet::getCost).sum();
+        long[] minimumWeights = new long[totalCost + 1];
+        Arrays.fill(minimumWeights, Long.MAX_VALUE / 2);
+        minimumWeights[0] = 0;
+        for (Triplet triplet : triplets)
+            for (int cost = totalCost; cost >= triplet.getCost(); cost--)
+                minimumWeights[cost] = Math.min(minimumWeights[cost], minimumWeights[cost - triplet.getCost()] + triplet.getFixedPointWeight());
+        int expectedCost = 0;
+        for (int cost = 0; cost <= totalCost; cost++)
+            if (minimumWeights[cost] <= capacity * 100)
+                expectedCost = cost;
+
+        for (Reconstruction reconstruction : Reconstruction.values()) {
+            CumulativePacking serviceUnderTest = new CumulativePacking(reconstruction, Integer.MAX_VALUE, new PackingLimits(400, 200, 1000));
+            List<Triplet> result = serviceUnderTest.getOptimalTriplets(TestProblems.problem(capacity, triplets));
+
+            assertEquals(expectedCost, result.stream().mapToInt(Triplet::getCost).sum(), reconstruction.toString());
+            assertTrue(result.stream().mapToInt(Triplet::getFixedPointWeight).sum() <= capacity * 100);
+        }
+    }
+
+    @Test
+    public void throwExceptionWhenItemExceedsConfiguredLimits(){
+        CumulativePacking serviceUnderTest = new CumulativePacking(new PackingLimits(20, 50, 100));
+        Problem problem = new Problem(100);
+        problem.getTriplets().add(new Triplet(1, 50.01f, 10));
+
+        APIException exception = assertThrows(APIException.class, () -> serviceUnderTest.getOptimalTriplets(problem));
+
+        assertEquals("Invalid problem : Max item weight possible is 50", exception.getMessage());
+    }
+
+    @Test
+    public void throwExceptionWhenLimitsCouldOverflowCumulativeSets(){
+        assertThrows(APIException.class, () -> new PackingLimits(100_000, 1000, 100));
+        assertThrows(APIException.class, () -> new PackingLimits(100_000, 1, 100_000));
+        assertThrows(APIException.class, () -> new PackingLimits(0, 100, 100));
+    }
 }
@@ -0,0 +1,37 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.Engine;
+import com.code.challenge.service.PackingLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngineTest {
+
+    @Test
+    public void returnSameItemsWhenProblemSolvedByEveryEngine(){
+        for (Engine engine : Engine.values()) {
+            Problem problem = new Problem(81, new ArrayList<>(Arrays.asList(new Triplet(1, 53.38f, 45),
+                    new Triplet(2, 88.62f, 98), new Triplet(3, 78.48f, 3), new Triplet(4, 72.30f, 76),
+                    new Triplet(5, 30.18f, 9), new Triplet(6, 46.34f, 48))));
+
+            String result = engine.create(PackingLimits.DEFAULT).getOptimalItemIdsInString(problem);
+
+            assertEquals("4", result, engine.name());
+        }
+    }
+
+    @Test
+    public void returnEngineWhenNameIsKnown(){
+        assertEquals(Engine.MEET_IN_THE_MIDDLE, Engine.of("MEET_IN_THE_MIDDLE"));
+    }
+
+    @Test
+    public void throwApiExceptionWhenEngineIsUnknown(){
+        assertThrows(APIException.class, () -> Engine.of("GREEDY"));
+    }
+}
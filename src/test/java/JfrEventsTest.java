@@ -0,0 +1,107 @@
+import com.code.challenge.model.Problem;
+import com.code.challenge.packer.Packer;
+import com.code.challenge.service.Parser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsTest {
+    private static final String[] EVENTS = {"com.code.challenge.ParseFile", "com.code.challenge.ParseLine",
+            "com.code.challenge.SolveProblem", "com.code.challenge.FormatSolution", "com.code.challenge.FormatOutput"};
+
+    private final File inputFile = new File(JfrEventsTest.class.getClassLoader()
+            .getResource("multiline_problem.txt").getFile());
+
+    @Test
+    public void recordEveryStageWhenPackedUnderFlightRecorder() throws Exception {
+        Path dump = Files.createTempFile("packer", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : EVENTS)
+                recording.enable(name).withThreshold(Duration.ZERO);
+            recording.start();
+            Packer.pack(inputFile.getAbsolutePath());
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+            assertEquals(1, count(events, "com.code.challenge.ParseFile"));
+            assertEquals(4, count(events, "com.code.challenge.ParseLine"));
+            assertEquals(4, count(events, "com.code.challenge.SolveProblem"));
+            assertEquals(4, count(events, "com.code.challenge.FormatSolution"));
+            assertEquals(1, count(events, "com.code.challenge.FormatOutput"));
+            RecordedEvent solve = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("com.code.challenge.SolveProblem"))
+                    .filter(event -> event.getInt("capacity") == 81)
+                    .findFirst()
+                    .get();
+            assertEquals(6, solve.getInt("items"));
+            assertTrue(solve.getInt("frontierSize") > 1);
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Test
+    public void recordFormatSolutionWhenSolutionsStreamed() throws Exception {
+        Path dump = Files.createTempFile("packer", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : EVENTS)
+                recording.enable(name).withThreshold(Duration.ZERO);
+            recording.start();
+            Packer.pack(inputFile.toPath(), new StringWriter(), 2);
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+            assertEquals(1, count(events, "com.code.challenge.ParseFile"));
+            assertEquals(4, count(events, "com.code.challenge.FormatSolution"));
+            assertEquals(0, count(events, "com.code.challenge.FormatOutput"));
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Test
+    public void recordParseFileWhenProblemStreamClosed() throws Exception {
+        Path dump = Files.createTempFile("packer", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.code.challenge.ParseFile").withThreshold(Duration.ZERO);
+            recording.start();
+            try (Stream<Problem> problems = Parser.getInstance().stream(inputFile.toPath())) {
+                assertEquals(2, problems.limit(2).count());
+            }
+            try (Stream<Problem> problems = Parser.getInstance().streamMapped(inputFile.toPath(), 16)) {
+                assertEquals(4, problems.count());
+            }
+            recording.stop();
+            recording.dump(dump);
+
+            List<Integer> lines = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.code.challenge.ParseFile"))
+                    .peek(event -> assertEquals(inputFile.getPath(), event.getString("path")))
+                    .map(event -> event.getInt("lines"))
+                    .collect(Collectors.toList());
+            assertEquals(List.of(2, 4), lines);
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.counting());
+    }
+}
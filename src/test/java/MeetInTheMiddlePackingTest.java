@@ -0,0 +1,57 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.MeetInTheMiddlePacking;
+import com.code.challenge.service.PackingLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeetInTheMiddlePackingTest {
+
+    @Test
+    public void returnItemWithLessWeightWhenTwoItemOfSameCost(){
+        Problem problem = new Problem(10);
+        problem.getTriplets().add(new Triplet(1, 10.0f, 100));
+        problem.getTriplets().add(new Triplet(2, 9.99f, 100));
+
+        String result = new MeetInTheMiddlePacking().getOptimalItemIdsInString(problem);
+
+        assertEquals("2", result);
+    }
+
+    @Test
+    public void returnEmptyListWhenItemsNotFittingPackageCapacity(){
+        Problem problem = new Problem(5);
+        problem.getTriplets().add(new Triplet(1, 10.0f, 100));
+
+        String result = new MeetInTheMiddlePacking().getOptimalItemIdsInString(problem);
+
+        assertEquals("-", result);
+    }
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenProblemsSolved(){
+        Random random = new Random(31);
+        PackingLimits limits = new PackingLimits(40, 100, 100);
+        for (int problemIndex = 0; problemIndex < 2000; problemIndex++) {
+            int capacity = random.nextInt(101);
+            int maxCost = random.nextBoolean() ? 5 : 100;
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(40), maxCost);
+
+            String expected = TestProblems.cumulativeItemIds(limits, capacity, triplets);
+            String result = new MeetInTheMiddlePacking(limits).getOptimalItemIdsInString(TestProblems.problem(capacity, triplets));
+
+            assertEquals(expected, result, capacity + " " + triplets);
+        }
+    }
+
+    @Test
+    public void throwApiExceptionWhenLimitsAllowTooManyItems(){
+        assertThrows(APIException.class,
+                () -> new MeetInTheMiddlePacking(new PackingLimits(MeetInTheMiddlePacking.MAX_ITEMS + 1, 100, 100)));
+    }
+}
@@ -1,12 +1,27 @@
 import com.code.challenge.exception.APIException;
 import com.code.challenge.packer.Packer;
+import com.code.challenge.service.BatchPacking;
+import com.code.challenge.service.CachingPacking;
+import com.code.challenge.service.CumulativePacking;
+import com.code.challenge.service.FrontierListener;
+import com.code.challenge.service.JmxPackingMetrics;
+import com.code.challenge.service.PackingLimits;
+import com.code.challenge.service.Reconstruction;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PackerTest {
 
@@ -73,4 +88,97 @@ public class PackerTest {
 
         assertEquals(expectedResult, result);
     }
+
+    @Test
+    public void writeSameResultsAsPackWhenInputFileStreamedToWriter() {
+        StringWriter writer = new StringWriter();
+
+        Packer.pack(multiLineInputFile.toPath(), writer);
+
+        assertEquals(Packer.pack(multiLineInputFile.getAbsolutePath()), writer.toString());
+    }
+
+    @Test
+    public void writeSameResultsAsPackWhenInputStreamPacked() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (InputStream input = new FileInputStream(multiLineInputFile)) {
+            Packer.pack(input, output);
+        }
+
+        assertEquals(Packer.pack(multiLineInputFile.getAbsolutePath()), output.toString("UTF-8"));
+    }
+
+    @Test
+    public void throwApiExceptionWhenNotExistingFileInputStreamed() {
+        String expectedExceptionMessage = "Invalid parameter: file not exists";
+
+        APIException exception = assertThrows(APIException.class,
+                () -> Packer.pack(Paths.get("/not/existing/input.file"), new StringWriter()));
+
+        assertEquals(expectedExceptionMessage, exception.getMessage());
+    }
+
+    @Test
+    public void returnSameResultsInSameOrderWhenPackedOnSeveralThreads() {
+        String expectedResult = Packer.pack(multiLineInputFile.getAbsolutePath());
+
+        String result = Packer.pack(multiLineInputFile.getAbsolutePath(), 4);
+
+        assertEquals(expectedResult, result);
+    }
+
+    @Test
+    public void throwApiExceptionWhenThreadCountIsNotPositive() {
+        String expectedExceptionMessage = "Invalid parameter: thread count must be positive";
+
+        APIException exception = assertThrows(APIException.class,
+                () -> Packer.pack(multiLineInputFile.getAbsolutePath(), 0));
+
+        assertEquals(expectedExceptionMessage, exception.getMessage());
+    }
+
+    @Test
+    public void writeSameResultsAsPackWhenSolutionsCached() {
+        StringWriter writer = new StringWriter();
+
+        Packer.pack(multiLineInputFile.toPath(), writer, new CachingPacking(new CumulativePacking(), 16), 2);
+
+        assertEquals(Packer.pack(multiLineInputFile.getAbsolutePath()), writer.toString());
+    }
+
+    @Test
+    public void writeSameResultsAsPackWhenLinesPackedInBatches() {
+        File repeatedItemsInputFile = new File(PackerTest.class.getClassLoader()
+                .getResource("repeated_items_problem.txt").getFile());
+        for (int batchSize : new int[]{1, 4, 100}) {
+            StringWriter writer = new StringWriter();
+
+            Packer.packInBatches(repeatedItemsInputFile.toPath(), writer, batchSize);
+
+            assertEquals(Packer.pack(repeatedItemsInputFile.getAbsolutePath()), writer.toString(), "batch size " + batchSize);
+        }
+    }
+
+    @Test
+    public void solveWithGivenPackingWhenInputStreamPackedInBatches() throws IOException {
+        File repeatedItemsInputFile = new File(PackerTest.class.getClassLoader()
+                .getResource("repeated_items_problem.txt").getFile());
+        JmxPackingMetrics metrics = new JmxPackingMetrics();
+        BatchPacking service = new BatchPacking(new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE,
+                PackingLimits.DEFAULT, false, FrontierListener.NONE, metrics));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (InputStream input = new FileInputStream(repeatedItemsInputFile)) {
+            Packer.packInBatches(input, output, service, 4);
+        }
+
+        assertEquals(Packer.pack(repeatedItemsInputFile.getAbsolutePath()), output.toString(StandardCharsets.UTF_8));
+        assertTrue(metrics.getSolvedProblems() > 0);
+    }
+
+    @Test
+    public void throwApiExceptionWhenBatchSizeIsNotPositive() {
+        assertThrows(APIException.class, () -> Packer.packInBatches(multiLineInputFile.toPath(), new StringWriter(), 0));
+    }
 }
@@ -0,0 +1,134 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.packer.Packer;
+import com.code.challenge.service.BatchPacking;
+import com.code.challenge.service.CachingPacking;
+import com.code.challenge.service.CumulativePacking;
+import com.code.challenge.service.FrontierListener;
+import com.code.challenge.service.Histogram;
+import com.code.challenge.service.JmxPackingMetrics;
+import com.code.challenge.service.PackingLimits;
+import com.code.challenge.service.PackingMetrics;
+import com.code.challenge.service.Parser;
+import com.code.challenge.service.Reconstruction;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import java.io.File;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackingMetricsTest {
+    private final File inputFile = new File(PackingMetricsTest.class.getClassLoader()
+            .getResource("multiline_problem.txt").getFile());
+
+    @Test
+    public void returnSameItemsWhenMetricsAreRecorded() {
+        String path = inputFile.getAbsolutePath();
+        for (Reconstruction reconstruction : Reconstruction.values()) {
+            for (int parallelThreshold : new int[]{1, Integer.MAX_VALUE}) {
+                CumulativePacking packing = new CumulativePacking(reconstruction, parallelThreshold);
+                CumulativePacking measuredPacking = new CumulativePacking(reconstruction, parallelThreshold,
+                        PackingLimits.DEFAULT, false, FrontierListener.NONE, new JmxPackingMetrics());
+                List<Problem> problems = Parser.getInstance().parse(path);
+                List<Problem> measuredProblems = Parser.getInstance().parse(path);
+
+                for (int i = 0; i < problems.size(); i++)
+                    assertEquals(packing.getOptimalItemIdsInString(problems.get(i)),
+                            measuredPacking.getOptimalItemIdsInString(measuredProblems.get(i)), reconstruction + " " + parallelThreshold);
+            }
+        }
+    }
+
+    @Test
+    public void recordEveryStageWhenProblemsSolved() {
+        JmxPackingMetrics metrics = new JmxPackingMetrics();
+        CumulativePacking packing = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE,
+                PackingLimits.DEFAULT, false, FrontierListener.NONE, metrics);
+        Parser parser = Parser.getInstance();
+        parser.setMetrics(metrics);
+        List<Problem> problems;
+        try {
+            problems = parser.parse(inputFile.getAbsolutePath());
+            parser.parseMapped(inputFile.getAbsolutePath());
+        } finally {
+            parser.setMetrics(PackingMetrics.NONE);
+        }
+
+        problems.forEach(packing::getOptimalItemIdsInString);
+
+        assertEquals(8, metrics.getParsedLines());
+        assertEquals(4, metrics.getSolvedProblems());
+        assertEquals(4, metrics.getBackwardPassNanos().getCount());
+        assertEquals(4, metrics.getFormatNanos().getCount());
+        assertTrue(metrics.getStages() > 0);
+        assertTrue(metrics.getMergeInputStates() > metrics.getDominatedStates());
+        assertTrue(metrics.getDominatedStates() > 0);
+        assertEquals(0, metrics.getPrunedStates());
+        assertTrue(metrics.getLargestSetSize() > 1);
+        assertEquals(metrics.getStages(), metrics.getFrontierSizes().getCount());
+        assertEquals(metrics.getLargestSetSize(), metrics.getFrontierSizes().getMax());
+    }
+
+    @Test
+    public void recordFormatTimesWhenPackerStreamsSolutions() {
+        JmxPackingMetrics metrics = new JmxPackingMetrics();
+        CumulativePacking packing = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE,
+                PackingLimits.DEFAULT, false, FrontierListener.NONE, metrics);
+
+        Packer.pack(inputFile.toPath(), new StringWriter(), packing, 1);
+        assertEquals(4, metrics.getFormatNanos().getCount());
+        Packer.pack(inputFile.toPath(), new StringWriter(), new CachingPacking(packing, 16), 2);
+        assertEquals(8, metrics.getFormatNanos().getCount());
+        Packer.packInBatches(inputFile.toPath(), new StringWriter(), new BatchPacking(packing), 2);
+        assertEquals(12, metrics.getFormatNanos().getCount());
+    }
+
+    @Test
+    public void countPrunedStatesWhenBoundPruningIsOn() {
+        JmxPackingMetrics metrics = new JmxPackingMetrics();
+        CumulativePacking packing = new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE,
+                PackingLimits.DEFAULT, true, FrontierListener.NONE, metrics);
+
+        Parser.getInstance().parse(inputFile.getAbsolutePath()).forEach(packing::getOptimalItemIdsInString);
+
+        assertTrue(metrics.getPrunedStates() > 0);
+    }
+
+    @Test
+    public void exposeCountersAndHistogramsWhenRegistered() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        JmxPackingMetrics metrics = new JmxPackingMetrics();
+        metrics.register(server, "test");
+        new CumulativePacking(Reconstruction.LINKS, Integer.MAX_VALUE, PackingLimits.DEFAULT, false,
+                FrontierListener.NONE, metrics).getOptimalItemIdsInString(Parser.getInstance().parse(inputFile.getAbsolutePath()).get(0));
+
+        assertEquals(1L, server.getAttribute(JmxPackingMetrics.getObjectName("test", null), "SolvedProblems"));
+        assertEquals(1L, server.getAttribute(JmxPackingMetrics.getObjectName("test", "BackwardPassNanos"), "Count"));
+        assertEquals(metrics.getStages(), server.getAttribute(JmxPackingMetrics.getObjectName("test", "FrontierSize"), "Count"));
+        assertThrows(APIException.class, () -> metrics.register(server, "test"));
+
+        metrics.unregister(server, "test");
+        assertFalse(server.isRegistered(JmxPackingMetrics.getObjectName("test", null)));
+    }
+
+    @Test
+    public void returnBucketUpperBoundWhenPercentileRead() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100; value++)
+            histogram.record(value);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(63, histogram.get50thPercentile());
+        assertEquals(100, histogram.get99thPercentile());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.get99thPercentile());
+    }
+}
@@ -0,0 +1,85 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.PackingSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackingSessionTest {
+
+    private static List<Triplet> randomTriplets(Random random, int size) {
+        List<Triplet> triplets = TestProblems.randomTriplets(random, size, 100);
+        triplets.sort(Comparator.comparing(Triplet::getRatio).reversed());
+        return triplets;
+    }
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenItemsAppendedInRatioOrder(){
+        Random random = new Random(43);
+        for (int problemIndex = 0; problemIndex < 500; problemIndex++) {
+            int capacity = random.nextInt(101);
+            List<Triplet> triplets = randomTriplets(random, 1 + random.nextInt(15));
+            PackingSession session = new PackingSession(capacity);
+            triplets.forEach(session::append);
+
+            String expected = TestProblems.cumulativeItemIds(capacity, triplets);
+
+            assertEquals(expected, session.getOptimalItemIdsInString(), capacity + " " + triplets);
+        }
+    }
+
+    @Test
+    public void returnPreviousSolutionWhenLastItemRemoved(){
+        PackingSession session = new PackingSession(10);
+        session.append(new Triplet(1, 4f, 10));
+        session.append(new Triplet(2, 5f, 20));
+        String previous = session.getOptimalItemIdsInString();
+        session.append(new Triplet(3, 1f, 100));
+
+        assertEquals("3, 2, 1", session.getOptimalItemIdsInString());
+        assertEquals(3, session.removeLast().getId());
+        assertEquals(previous, session.getOptimalItemIdsInString());
+        assertEquals(2, session.size());
+    }
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenCapacityShrinks(){
+        Random random = new Random(47);
+        List<Triplet> triplets = randomTriplets(random, 15);
+        PackingSession session = new PackingSession(100);
+        triplets.forEach(session::append);
+
+        for (int capacity = 100; capacity >= 0; capacity -= 7) {
+            session.shrinkCapacity(capacity);
+            String expected = TestProblems.cumulativeItemIds(capacity, triplets);
+
+            assertEquals(expected, session.getOptimalItemIdsInString(), "capacity " + capacity);
+        }
+    }
+
+    @Test
+    public void throwApiExceptionWhenCapacityGrows(){
+        PackingSession session = new PackingSession(10);
+
+        assertThrows(APIException.class, () -> session.shrinkCapacity(11));
+    }
+
+    @Test
+    public void throwApiExceptionWhenSessionHasNoItemToRemove(){
+        assertThrows(APIException.class, () -> new PackingSession(10).removeLast());
+    }
+
+    @Test
+    public void throwApiExceptionAndKeepItemsWhenItemExceedsLimits(){
+        PackingSession session = new PackingSession(10);
+        session.append(new Triplet(1, 4f, 10));
+
+        assertThrows(APIException.class, () -> session.append(new Triplet(2, 4f, 101)));
+        assertEquals(1, session.size());
+        assertEquals("1", session.getOptimalItemIdsInString());
+    }
+}
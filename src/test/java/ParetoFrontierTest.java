@@ -0,0 +1,102 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.BatchPacking;
+import com.code.challenge.service.CumulativePacking;
+import com.code.challenge.service.ParetoFrontier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParetoFrontierTest {
+
+    @Test
+    public void returnSameItemsAsCumulativePackingWhenAnyCapacityQueried(){
+        Random random = new Random(53);
+        for (int problemIndex = 0; problemIndex < 200; problemIndex++) {
+            int maxCost = random.nextBoolean() ? 5 : 100;
+            List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(15), maxCost);
+            ParetoFrontier frontier = new CumulativePacking().buildParetoFrontier(triplets, 100);
+
+            for (int capacity = 0; capacity <= 100; capacity += 3) {
+                String expected = TestProblems.cumulativeItemIds(capacity, triplets);
+
+                assertEquals(expected, frontier.getOptimalItemIdsInString(capacity), capacity + " " + triplets);
+            }
+        }
+    }
+
+    @Test
+    public void returnEmptyListWhenCapacityIsZero(){
+        List<Triplet> triplets = new ArrayList<>();
+        triplets.add(new Triplet(1, 4f, 10));
+
+        ParetoFrontier frontier = new CumulativePacking().buildParetoFrontier(triplets, 10);
+
+        assertEquals("-", frontier.getOptimalItemIdsInString(0));
+        assertEquals("1", frontier.getOptimalItemIdsInString(10));
+    }
+
+    @Test
+    public void returnStrictlyIncreasingPointsReachedByTheirItemsWhenFrontierExported(){
+        Random random = new Random(59);
+        List<Triplet> triplets = TestProblems.randomTriplets(random, 15, 100);
+
+        ParetoFrontier frontier = new CumulativePacking().buildParetoFrontier(new Problem(100, triplets));
+        int[] weights = frontier.getWeights();
+        int[] costs = frontier.getCosts();
+
+        assertEquals(frontier.size(), weights.length);
+        assertEquals(frontier.size(), costs.length);
+        assertEquals(0, weights[0]);
+        assertEquals(0, costs[0]);
+        for (int i = 0; i < weights.length; i++) {
+            List<Triplet> point = frontier.getPointTriplets(i);
+            assertEquals(weights[i], point.stream().mapToInt(Triplet::getFixedPointWeight).sum());
+            assertEquals(costs[i], point.stream().mapToInt(Triplet::getCost).sum());
+            if (i > 0) {
+                assertTrue(weights[i] > weights[i - 1]);
+                assertTrue(costs[i] > costs[i - 1]);
+            }
+        }
+        assertTrue(weights[weights.length - 1] <= 100 * 100);
+    }
+
+    @Test
+    public void throwApiExceptionWhenPointIndexIsOutOfFrontier(){
+        ParetoFrontier frontier = new CumulativePacking().buildParetoFrontier(new ArrayList<>(), 10);
+
+        assertThrows(APIException.class, () -> frontier.getPointTriplets(frontier.size()));
+    }
+
+    @Test
+    public void throwApiExceptionWhenCapacityExceedsFrontier(){
+        ParetoFrontier frontier = new CumulativePacking().buildParetoFrontier(new ArrayList<>(), 10);
+
+        assertThrows(APIException.class, () -> frontier.getOptimalTriplets(11));
+    }
+
+    @Test
+    public void throwApiExceptionWhenItemsExceedLimits(){
+        List<Triplet> triplets = new ArrayList<>();
+        triplets.add(new Triplet(1, 4f, 101));
+
+        assertThrows(APIException.class, () -> new CumulativePacking().buildParetoFrontier(triplets, 10));
+    }
+
+    @Test
+    public void returnOwnIdsWhenBatchedProblemsDifferOnlyInIds(){
+        List<Problem> problems = List.of(
+                TestProblems.problem(10, List.of(new Triplet(1, 4f, 10), new Triplet(2, 5f, 20))),
+                TestProblems.problem(10, List.of(new Triplet(7, 4f, 10), new Triplet(8, 5f, 20))),
+                TestProblems.problem(4, List.of(new Triplet(1, 4f, 10), new Triplet(2, 5f, 20))));
+
+        List<String> solutions = new BatchPacking().getOptimalItemIdsInStrings(problems);
+
+        assertEquals(List.of("1, 2", "7, 8", "1"), solutions);
+    }
+}
@@ -6,7 +6,15 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -118,4 +126,90 @@ public class ParserTest {
 
         assertTrue(exception.getMessage().contains(expectedExceptionMessage));
     }
+
+    @Test
+    void throwApiExceptionWhenWeightHasMoreThanTwoDecimals(){
+        for (String weight : new String[]{"100.004", "0.004"}) {
+            String line = "81 : (1," + weight + ",\u20AC45)";
+
+            APIException exception = assertThrows(APIException.class,
+                    () -> Parser.getInstance().stream(new StringReader(line)).iterator().next());
+
+            assertTrue(exception.getMessage().contains(line), exception.getMessage());
+        }
+    }
+
+    @Test
+    void returnProblemsLazilyWhenLinesStreamedFromReader(){
+        String lines = "81 : (1,53.38,\u20AC45)" + System.lineSeparator() + "(9,89.95,\u20AC78) : 75";
+
+        Iterator<Problem> systemUnderTest = Parser.getInstance().stream(new StringReader(lines)).iterator();
+
+        assertEquals(81, systemUnderTest.next().getMaxCapacity());
+        assertThrows(APIException.class, systemUnderTest::next);
+    }
+
+    @Test
+    void returnSameProblemWhenWellFormedLineHasSeveralTriplets(){
+        Problem problem = Parser.getInstance().stream(new StringReader("75 : (1,85.31,\u20AC29) (2,14.56,\u20AC74)\t(3,3.98,\u20AC16) "))
+                .findFirst()
+                .get();
+
+        assertEquals(75, problem.getMaxCapacity());
+        assertEquals(3, problem.getTriplets().size());
+        assertEquals(2, problem.getTriplets().get(1).getId());
+        assertEquals(1456, problem.getTriplets().get(1).getFixedPointWeight());
+        assertEquals(16, problem.getTriplets().get(2).getCost());
+    }
+
+    @Test
+    void returnTripletsMatchedByPatternWhenLineIsNotWellFormed(){
+        Problem problem = Parser.getInstance().stream(new StringReader("8 : (1,15.3,\u20AC34)) junk (2,1.00,\u20AC1)"))
+                .findFirst()
+                .get();
+
+        assertEquals(8, problem.getMaxCapacity());
+        assertEquals(2, problem.getTriplets().size());
+    }
+
+    @Test
+    void returnSameProblemsInSameOrderWhenFileParsedInMappedChunks() throws IOException {
+        Path file = Files.createTempFile("mapped", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, ("81 : (1,53.38,\u20AC45) (2,88.62,\u20AC98)\r\n" +
+                "8 : (1,15.3,\u20AC34)\n" +
+                "75 : (1,85.31,\u20AC29) (2,14.55,\u20AC74) (3,3.98,\u20AC16)\r" +
+                "56 : (1,90.72,\u20AC13)) (2,33.80,\u20AC40)\n" +
+                "9 : (1,1.5,\u20AC1)").getBytes(StandardCharsets.UTF_8));
+        List<Problem> expected = Parser.getInstance().parse(file.toString());
+
+        for (int chunkSize = 1; chunkSize <= 64; chunkSize++) {
+            try (Stream<Problem> problems = Parser.getInstance().streamMapped(file, chunkSize)) {
+                List<Problem> result = problems.collect(Collectors.toList());
+
+                assertEquals(expected.size(), result.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getMaxCapacity(), result.get(i).getMaxCapacity());
+                    assertEquals(expected.get(i).getTriplets().toString(), result.get(i).getTriplets().toString());
+                }
+            }
+        }
+        assertEquals(expected.size(), Parser.getInstance().parseMapped(file.toString()).size());
+    }
+
+    @Test
+    void throwApiExceptionWithLineNumberWhenMappedLineCanNotBeParsed() throws IOException {
+        Path file = Files.createTempFile("mapped", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, ("81 : (1,53.38,\u20AC45)\n8 : (1,15.3,\u20AC34)\n(9,89.95,\u20AC78) : 75\n8 : (1,15.3,\u20AC34)\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        for (int chunkSize = 1; chunkSize <= 32; chunkSize++) {
+            try (Stream<Problem> problems = Parser.getInstance().streamMapped(file, chunkSize)) {
+                APIException exception = assertThrows(APIException.class, () -> problems.collect(Collectors.toList()));
+
+                assertTrue(exception.getMessage().contains("line 3: (9,89.95,\u20AC78) : 75"), exception.getMessage());
+            }
+        }
+    }
 }
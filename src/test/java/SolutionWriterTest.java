@@ -0,0 +1,71 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.SolutionWriter;
+import com.code.challenge.utility.Util;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolutionWriterTest {
+
+    @Test
+    public void writeSameTextAsJoinedItemIdsWhenSolutionsWritten() {
+        Random random = new Random(61);
+        List<List<Triplet>> solutions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            List<Triplet> solution = new ArrayList<>();
+            int items = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(15);
+            for (int j = 0; j < items; j++)
+                solution.add(Triplet.withFixedPointWeight(random.nextInt(3) == 0 ? random.nextInt() : random.nextInt(16), 100, 1));
+            solutions.add(solution);
+        }
+        solutions.add(singleItem(Integer.MIN_VALUE));
+        solutions.add(singleItem(Integer.MAX_VALUE));
+        solutions.add(singleItem(0));
+        String expected = solutions.stream()
+                .map(solution -> Util.defaultIfEmpty(solution.stream()
+                        .map(triplet -> String.valueOf(triplet.getId()))
+                        .collect(Collectors.joining(", ")), "-"))
+                .collect(Collectors.joining(System.lineSeparator()));
+
+        for (int bufferSize : new int[]{64, 100, SolutionWriter.DEFAULT_BUFFER_SIZE}) {
+            StringWriter writer = new StringWriter();
+            SolutionWriter solutionWriter = new SolutionWriter(writer, bufferSize);
+            solutions.forEach(solutionWriter::write);
+            solutionWriter.flush();
+
+            assertEquals(expected, writer.toString(), "buffer size " + bufferSize);
+        }
+    }
+
+    @Test
+    public void writeFormattedSolutionsLongerThanBuffer() {
+        String longSolution = String.join(", ", Collections.nCopies(100, "15"));
+        StringWriter writer = new StringWriter();
+        SolutionWriter solutionWriter = new SolutionWriter(writer, 64);
+
+        solutionWriter.write(longSolution);
+        solutionWriter.write("-");
+        solutionWriter.flush();
+
+        assertEquals(longSolution + System.lineSeparator() + "-", writer.toString());
+    }
+
+    @Test
+    public void throwApiExceptionWhenBufferSizeIsTooSmall() {
+        assertThrows(APIException.class, () -> new SolutionWriter(new StringWriter(), 16));
+    }
+
+    private static List<Triplet> singleItem(int id) {
+        List<Triplet> solution = new ArrayList<>();
+        solution.add(Triplet.withFixedPointWeight(id, 100, 1));
+        return solution;
+    }
+}
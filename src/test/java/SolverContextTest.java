@@ -0,0 +1,83 @@
+import com.code.challenge.exception.APIException;
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.CumulativePacking;
+import com.code.challenge.service.FrontierListener;
+import com.code.challenge.service.PackingLimits;
+import com.code.challenge.service.PackingMetrics;
+import com.code.challenge.service.Reconstruction;
+import com.code.challenge.service.SolverContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverContextTest {
+
+    private static Problem randomProblem(Random random, int maxItems, int maxWeight, int maxCost) {
+        List<Triplet> triplets = TestProblems.randomTriplets(random, 1 + random.nextInt(maxItems), maxWeight, maxCost);
+        return new Problem(random.nextInt(101), triplets);
+    }
+
+    @Test
+    public void returnSameItemsAsGetOptimalTripletsWhenOneContextSolvesManyProblems(){
+        Random random = new Random(53);
+        SolverContext context = new SolverContext();
+        for (Reconstruction reconstruction : Reconstruction.values()) {
+            for (boolean boundPruning : new boolean[]{false, true}) {
+                CumulativePacking packing = new CumulativePacking(reconstruction, Integer.MAX_VALUE,
+                        PackingLimits.DEFAULT, boundPruning, FrontierListener.NONE, PackingMetrics.NONE);
+                for (int problemIndex = 0; problemIndex < 300; problemIndex++) {
+                    // Few distinct weights and costs give many equal ratios, whose order must be kept
+                    Problem problem = problemIndex % 2 == 0
+                            ? randomProblem(random, 15, 10000, 100)
+                            : randomProblem(random, 15, 4, 3);
+
+                    List<Triplet> expected = packing.getOptimalTriplets(TestProblems.problem(problem.getMaxCapacity(), problem.getTriplets()));
+
+                    assertEquals(expected, packing.getOptimalTriplets(problem, context),
+                            reconstruction + " " + boundPruning + " " + problem.getTriplets());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void returnSameItemsAsGetOptimalTripletsWhenItemsAreMergeSorted(){
+        Random random = new Random(59);
+        SolverContext context = new SolverContext();
+        CumulativePacking packing = new CumulativePacking(new PackingLimits(200, 100, 100));
+        for (int problemIndex = 0; problemIndex < 50; problemIndex++) {
+            Problem problem = randomProblem(random, 200, 2000, 20);
+
+            List<Triplet> expected = packing.getOptimalTriplets(TestProblems.problem(problem.getMaxCapacity(), problem.getTriplets()));
+
+            assertEquals(expected, packing.getOptimalTriplets(problem, context), problem.getTriplets().toString());
+        }
+    }
+
+    @Test
+    public void returnProblemUnchangedWhenSolvedWithContext(){
+        Problem problem = new Problem(8, new ArrayList<>(List.of(
+                new Triplet(1, 9f, 10), new Triplet(2, 5f, 20), new Triplet(3, 3f, 30))));
+        List<Triplet> triplets = new ArrayList<>(problem.getTriplets());
+
+        List<Triplet> solution = new CumulativePacking().getOptimalTriplets(problem, new SolverContext());
+
+        assertEquals(List.of(triplets.get(1), triplets.get(2)), solution);
+        assertEquals(triplets, problem.getTriplets());
+    }
+
+    @Test
+    public void throwAPIExceptionWhenProblemExceedsLimitsWithContext(){
+        Problem problem = new Problem(10, new ArrayList<>(List.of(new Triplet(1, 5f, 101))));
+
+        APIException exception = assertThrows(APIException.class,
+                () -> new CumulativePacking().getOptimalTriplets(problem, new SolverContext()));
+
+        assertEquals("Invalid problem : Max item cost possible is 100", exception.getMessage());
+    }
+}
@@ -0,0 +1,54 @@
+import com.code.challenge.model.Problem;
+import com.code.challenge.model.Triplet;
+import com.code.challenge.service.CumulativePacking;
+import com.code.challenge.service.PackingLimits;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Random items and reference solutions shared by tests comparing engines with CumulativePacking.
+ */
+public class TestProblems {
+
+    private TestProblems() {
+    }
+
+    /**
+     * @return items with ids 1 to size, weights up to 100 and costs up to given one.
+     */
+    public static List<Triplet> randomTriplets(Random random, int size, int maxCost) {
+        return randomTriplets(random, size, 10000, maxCost);
+    }
+
+    /**
+     * @param maxWeight highest weight in hundredths.
+     * @return items with ids 1 to size, weights and costs from 1 up to given ones.
+     */
+    public static List<Triplet> randomTriplets(Random random, int size, int maxWeight, int maxCost) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(i -> Triplet.withFixedPointWeight(i, 1 + random.nextInt(maxWeight), 1 + random.nextInt(maxCost)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return problem over a copy of given items, as solving sorts items of a problem in place.
+     */
+    public static Problem problem(int capacity, List<Triplet> triplets) {
+        return new Problem(capacity, new ArrayList<>(triplets));
+    }
+
+    public static String cumulativeItemIds(int capacity, List<Triplet> triplets) {
+        return cumulativeItemIds(PackingLimits.DEFAULT, capacity, triplets);
+    }
+
+    /**
+     * @return solution of CumulativePacking with given limits, given items not modified.
+     */
+    public static String cumulativeItemIds(PackingLimits limits, int capacity, List<Triplet> triplets) {
+        return new CumulativePacking(limits).getOptimalItemIdsInString(problem(capacity, triplets));
+    }
+}
@@ -2,6 +2,7 @@ import com.code.challenge.utility.Util;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class UtilTest {
     @Test
@@ -21,10 +22,22 @@ public class UtilTest {
     }
 
     @Test
-    public void returnFloatScaledTo2PrecisionWhenMoreThan2DecimalPoints() {
-        float expectedResult = 14.57f;
-        float result = Util.round(14.5699999999f);
+    public void returnHundredthsWhenDecimalStringParsedToFixedPoint() {
+        assertEquals(5338, Util.parseFixedPoint("53.38"));
+        assertEquals(1530, Util.parseFixedPoint("15.3"));
+        assertEquals(700, Util.parseFixedPoint("7"));
+    }
 
-        assertEquals(expectedResult, result);
+    @Test
+    public void throwNumberFormatExceptionWhenMoreThan2DecimalPointsParsed() {
+        assertThrows(NumberFormatException.class, () -> Util.parseFixedPoint("100.004"));
+        assertThrows(NumberFormatException.class, () -> Util.parseFixedPoint("0.004"));
+        assertEquals(100, Util.parseFixedPoint("1.00"));
+    }
+
+    @Test
+    public void throwNumberFormatExceptionWhenInvalidDecimalParsed() {
+        assertThrows(NumberFormatException.class, () -> Util.parseFixedPoint(".5"));
+        assertThrows(NumberFormatException.class, () -> Util.parseFixedPoint("1,5"));
     }
 }